@@ -1,9 +1,10 @@
 package cs3500.animator;
 
-import java.io.FileInputStream;
-import java.io.FileWriter;
-import java.io.IOException;
-import java.io.InputStreamReader;
+import cs3500.animator.util.AnimationFile;
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.nio.file.Paths;
 import java.util.function.Consumer;
 import javax.swing.JFrame;
 import javax.swing.JOptionPane;
@@ -44,7 +45,7 @@ public class Excellence {
         case "-in":
           try {
             fileInName = args[i + 1];
-            rd = new InputStreamReader(new FileInputStream(fileInName));
+            rd = new AnimationFile(Paths.get(fileInName));
           } catch (java.io.FileNotFoundException e) {
             error.accept("File not found: " + args[i + 1]);
             return;
@@ -53,7 +54,9 @@ public class Excellence {
           break;
         case "-out":
           try {
-            ap = new FileWriter(args[i + 1]);
+            // A stream rather than a writer, so that binary views can write to it too. It is
+            // flushed when checking it for errors at the end.
+            ap = new PrintStream(new BufferedOutputStream(new FileOutputStream(args[i + 1])));
             outputtingToFile = true;
           } catch (java.io.IOException e) {
             error.accept("Writing to file failed: " + args[i + 1]);
@@ -85,7 +88,7 @@ public class Excellence {
     }
 
     try {
-      ViewUtils.getBuildCommands(ap, speed, rd, fileInName).get(view).get().startAnimation();
+      ViewUtils.getBuildCommands(ap, speed, rd, fileInName, error).get(view).get().startAnimation();
     } catch (NullPointerException e) {
       error.accept("View type invalid.");
       return;
@@ -95,9 +98,7 @@ public class Excellence {
     }
 
     if (outputtingToFile) {
-      try {
-        ((FileWriter) ap).flush();
-      } catch (IOException e) {
+      if (((PrintStream) ap).checkError()) {
         error.accept("Failed to write to file.");
       }
     }
@@ -6,6 +6,7 @@ import cs3500.animator.controller.ISimpleAnimationController;
 import cs3500.animator.controller.InteractiveFbyFController;
 import cs3500.animator.controller.ShapeByShapeController;
 import cs3500.animator.controller.slomo.SloMoController;
+import cs3500.animator.view.binary.BinaryView;
 import cs3500.animator.view.svg.SvgView;
 import cs3500.animator.view.svg.SvgViewWithPlus;
 import cs3500.animator.view.textual.TextualView;
@@ -13,29 +14,43 @@ import cs3500.animator.view.visual.InteractiveView;
 import cs3500.animator.view.visual.outline.OutlineInteractiveView;
 import cs3500.animator.view.visual.discrete.DiscreteInteractiveView;
 import cs3500.animator.view.visual.SimpleAnimationView;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.zip.CRC32;
 
 /**
  * Utils class for Excellence Class.
  */
 public class ViewUtils {
 
+  private static final String FRAME_FILE_EXTENSION = ".framecache";
+
   /**
    * Gets an instance of every type of view tied to its text name as its key.
    *
    * @param ap    Where the view should output to, if asked for.
    * @param speed The framerate / tick rate of the view.
+   * @param error What is told if the input turns out to be bad after a view has started playing.
    * @return The map of each type of view.
    */
   public static Map<String, Supplier<ISimpleAnimationController>>
-      getBuildCommands(Appendable ap, int speed, Readable rd, String fileName) {
+      getBuildCommands(Appendable ap, int speed, Readable rd, String fileName,
+      Consumer<String> error) {
     Map<String, Supplier<ISimpleAnimationController>> blds = new HashMap<>();
     blds.putIfAbsent("interactive",
-        () -> new InteractiveFbyFController(new InteractiveView(speed), speed, rd));
+        () -> withFrameFile(new InteractiveFbyFController(new InteractiveView(speed), speed, rd),
+            fileName));
     blds.putIfAbsent("interactiveoutline",
-        () -> new InteractiveFbyFController(new OutlineInteractiveView(speed), speed, rd));
+        () -> withFrameFile(new InteractiveFbyFController(new OutlineInteractiveView(speed),
+            speed, rd), fileName));
     blds.putIfAbsent("slomo",
         () -> {
       String fileNameWithoutExtension = fileName.split(".txt")[0];
@@ -45,15 +60,77 @@ public class ViewUtils {
       return controller;
         });
     blds.putIfAbsent("visual",
-        () -> new FrameByFrameController(new SimpleAnimationView(), speed, rd));
+        () -> {
+      FrameByFrameController controller = new FrameByFrameController(new SimpleAnimationView(),
+          speed, rd, true);
+      controller.onLoadFailure(error);
+      return withFrameFile(controller, fileName);
+        });
     blds.putIfAbsent("svg",
         () -> new ShapeByShapeController(new SvgView(ap), speed, rd));
     blds.putIfAbsent("svgplus",
         () -> new ShapeByShapeController(new SvgViewWithPlus(ap), speed, rd));
     blds.putIfAbsent("text",
         () -> new ShapeByShapeController(new TextualView(ap), speed, rd));
+    blds.putIfAbsent("bin",
+        () -> new ShapeByShapeController(new BinaryView(asOutputStream(ap)), speed, rd));
     blds.putIfAbsent("discrete",
         () -> new DiscreteController(new DiscreteInteractiveView(speed), speed, rd));
     return blds;
   }
+
+  /**
+   * Gets the stream under an output, for views that write bytes instead of text.
+   *
+   * @param ap Where the view should output to.
+   * @return The output as a stream.
+   * @throws IllegalArgumentException If the output can only take text.
+   */
+  private static OutputStream asOutputStream(Appendable ap) throws IllegalArgumentException {
+    if (!(ap instanceof OutputStream)) {
+      throw new IllegalArgumentException("Binary output must go to a file or standard out.");
+    }
+    return (OutputStream) ap;
+  }
+
+  /**
+   * Has a controller keep its rendered frames in a file next to the input, keyed by a hash of the
+   * input, so that running the same input again doesn't render it again. The controller decides
+   * when to work the hash out, since that reads the whole input. If the input can't be read then,
+   * the controller goes without the file.
+   *
+   * @param controller The controller.
+   * @param fileName   The name of the input file, which is empty if there isn't one.
+   * @return The same controller.
+   */
+  private static FrameByFrameController withFrameFile(FrameByFrameController controller,
+      String fileName) {
+    if (fileName == null || fileName.isEmpty()) {
+      return controller;
+    }
+
+    Path input = Paths.get(fileName);
+    controller.useFrameFile(Paths.get(fileName + FRAME_FILE_EXTENSION), () -> hashInput(input));
+    return controller;
+  }
+
+  /**
+   * Works out the hash of an input that its frame file is keyed by.
+   *
+   * @param input The input file.
+   * @return The hash.
+   * @throws IOException If the input can't be read.
+   */
+  private static long hashInput(Path input) throws IOException {
+    CRC32 crc = new CRC32();
+    byte[] buffer = new byte[1 << 16];
+
+    try (InputStream in = Files.newInputStream(input)) {
+      for (int read = in.read(buffer); read >= 0; read = in.read(buffer)) {
+        crc.update(buffer, 0, read);
+      }
+    }
+    // The length goes in the top half, so inputs with the same checksum still rarely match.
+    return (Files.size(input) << 32) | crc.getValue();
+  }
 }
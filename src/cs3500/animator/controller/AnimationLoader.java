@@ -0,0 +1,175 @@
+package cs3500.animator.controller;
+
+import cs3500.animator.util.AnimationBuilder;
+import cs3500.animator.util.AnimationReader;
+import model.ISimpleAnimationModel;
+import model.SimpleAnimationModel.Builder;
+
+/**
+ * Reads an animation on a thread of its own, handing out copies of the animation read so far as
+ * it goes so that playing it can start long before the whole input is read. Each copy is
+ * initialized before it is handed out and shares nothing with the animation still being built,
+ * so it can be played on another thread straight away. Copies are taken each time the number of
+ * motions read doubles, which keeps the cost of copying to about that of reading.
+ */
+final class AnimationLoader implements Runnable {
+
+  private static final int FIRST_COPY_MOTIONS = 1 << 10;
+
+  private final Readable rd;
+  private final Object lock;
+  private ISimpleAnimationModel latest;
+  private RuntimeException failure;
+
+  /**
+   * Sets up a loader for an input, without starting to read it yet.
+   *
+   * @param rd Where text should be input from.
+   */
+  AnimationLoader(Readable rd) {
+    this.rd = rd;
+    this.lock = new Object();
+  }
+
+  /**
+   * Starts reading the input on a background thread.
+   */
+  void start() {
+    Thread thread = new Thread(this, "animation-loader");
+    thread.setDaemon(true);
+    thread.start();
+  }
+
+  @Override
+  public void run() {
+    try {
+      ISimpleAnimationModel model = AnimationReader.parseFileInOrder(this.rd,
+          new CopyingBuilder());
+      model.initializeAnimation();
+      this.publish(model);
+    } catch (RuntimeException e) {
+      synchronized (this.lock) {
+        this.failure = e;
+        this.lock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Waits until there is an animation to play, which is either the first copy or, for an input
+   * too short to copy, the whole animation.
+   *
+   * @return The animation read so far.
+   * @throws IllegalArgumentException If the animation is invalid.
+   * @throws IllegalStateException    If the input can't be read, or reading is interrupted.
+   */
+  ISimpleAnimationModel awaitFirstModel() throws IllegalArgumentException, IllegalStateException {
+    synchronized (this.lock) {
+      while (this.latest == null && this.failure == null) {
+        try {
+          this.lock.wait();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while loading the animation.");
+        }
+      }
+      if (this.latest == null) {
+        throw this.failure;
+      }
+      return this.latest;
+    }
+  }
+
+  /**
+   * Gets the most recent animation handed out, without waiting.
+   *
+   * @return The latest animation, whose safe horizon says how much of it is final.
+   * @throws IllegalStateException If reading the rest of the input failed.
+   */
+  ISimpleAnimationModel getLatestModel() throws IllegalStateException {
+    synchronized (this.lock) {
+      if (this.failure != null) {
+        throw new IllegalStateException(this.failure.getMessage(), this.failure);
+      }
+      return this.latest;
+    }
+  }
+
+  /**
+   * Hands out an initialized animation, replacing the last one.
+   *
+   * @param model The animation.
+   */
+  private void publish(ISimpleAnimationModel model) {
+    synchronized (this.lock) {
+      this.latest = model;
+      this.lock.notifyAll();
+    }
+  }
+
+  /**
+   * A builder that hands out a copy of the animation each time the number of motions doubles, as
+   * long as the copy makes more frames final than the last one did.
+   */
+  private final class CopyingBuilder implements AnimationBuilder<ISimpleAnimationModel> {
+
+    private final Builder builder = new Builder();
+    private int motions;
+    private int nextCopy = FIRST_COPY_MOTIONS;
+    private int horizon;
+
+    @Override
+    public ISimpleAnimationModel build() {
+      return this.builder.build();
+    }
+
+    @Override
+    public AnimationBuilder<ISimpleAnimationModel> setBounds(int x, int y, int width,
+        int height) {
+      this.builder.setBounds(x, y, width, height);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<ISimpleAnimationModel> declareShape(String name, String type) {
+      this.builder.declareShape(name, type);
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<ISimpleAnimationModel> addMotion(String name, int t1, int x1, int y1,
+        int w1, int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2,
+        int g2, int b2) {
+      this.builder.addMotion(name, t1, x1, y1, w1, h1, r1, g1, b1,
+          t2, x2, y2, w2, h2, r2, g2, b2);
+
+      if (++this.motions == this.nextCopy) {
+        this.nextCopy *= 2;
+        this.copy();
+      }
+      return this;
+    }
+
+    /**
+     * Takes a copy of the animation so far and hands it out, if it is worth playing.
+     */
+    private void copy() {
+      if (this.builder.getSafeHorizon() <= this.horizon) {
+        return;
+      }
+
+      ISimpleAnimationModel copy = this.builder.snapshot();
+
+      try {
+        // Initializing takes the copy's own shapes and directions, so the two stop sharing.
+        copy.initializeAnimation();
+      } catch (IllegalArgumentException | IllegalStateException e) {
+        // The whole animation fails the same way, which is reported once it has all been read.
+        return;
+      }
+
+      this.horizon = copy.getSafeHorizon();
+      AnimationLoader.this.publish(copy);
+    }
+  }
+}
@@ -2,6 +2,10 @@ package cs3500.animator.controller;
 
 import cs3500.animator.util.AnimationReader;
 import cs3500.animator.view.IView;
+import java.nio.file.Path;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import javax.swing.Timer;
 import model.ISimpleAnimationModel;
 import model.SimpleAnimationModel.Builder;
@@ -14,11 +18,17 @@ import model.utils.Pair;
  */
 public class FrameByFrameController implements ISimpleAnimationController {
 
-  protected final ISimpleAnimationModel model;
+  protected ISimpleAnimationModel model;
   protected final IView view;
   protected int frameRate;
   protected Timer timer;
   protected int frame;
+  private AnimationLoader loader;
+  private Path frameFile;
+  private Callable<Long> inputHasher;
+  private CompletableFuture<Long> inputHash;
+  private Consumer<String> loadFailureHandler;
+  private boolean loadFailed;
 
   /**
    * Creates a model based off of the read location, then initializes the view for animation.
@@ -28,17 +38,74 @@ public class FrameByFrameController implements ISimpleAnimationController {
    * @param rd Where text should be input from.
    */
   public FrameByFrameController(IView view, int frameRate, Readable rd) {
+    this(view, frameRate, rd, false);
+  }
+
+  /**
+   * Creates a model based off of the read location, then initializes the view for animation. When
+   * streaming, the input is read on a background thread, and playing starts as soon as the start
+   * of it has been read instead of once all of it has. Frames are only played once no motion still
+   * to be read can change them, which for input whose motions are in order of start time is soon
+   * after the motions starting on them are read; other input plays once it has all been read.
+   *
+   * @param view The view to display to.
+   * @param frameRate The framerate at which the view should run.
+   * @param rd Where text should be input from.
+   * @param streaming Whether to start playing before the whole input has been read.
+   */
+  public FrameByFrameController(IView view, int frameRate, Readable rd, boolean streaming) {
     this.view = view;
     this.frameRate = frameRate;
     this.frame = 0;
 
-    this.model = AnimationReader.parseFile(rd, new Builder());
-    this.model.initializeAnimation();
+    if (streaming) {
+      this.loader = new AnimationLoader(rd);
+      this.loader.start();
+      this.model = this.loader.awaitFirstModel();
+    } else {
+      this.model = AnimationReader.parseFile(rd, new Builder());
+      this.model.initializeAnimation();
+    }
 
     Pair<Integer, Integer> bounds = this.model.getBoundaries();
     this.view.initialize(bounds.getValue0(), bounds.getValue1(), frameRate);
   }
 
+  /**
+   * Keeps the model's rendered frames in a file between runs, so that an unchanged input doesn't
+   * have to be rendered again. The file is keyed by a hash of the input, which takes reading all of
+   * it to work out; when streaming, that is done on a thread of its own once the whole input has
+   * been read, and the file is used from then on. If the hash can't be worked out, no file is
+   * used.
+   *
+   * @param file      The frame file.
+   * @param inputHash What works out a hash of the input the model was read from.
+   */
+  public void useFrameFile(Path file, Callable<Long> inputHash) {
+    if (this.loader == null) {
+      try {
+        this.model.setFrameFile(file, inputHash.call());
+      } catch (Exception e) {
+        // The file is only there to save time, so this run just goes without it.
+      }
+      return;
+    }
+
+    // Only the model read in full is worth keeping the frames of, so it waits for that one.
+    this.frameFile = file;
+    this.inputHasher = inputHash;
+  }
+
+  /**
+   * Sets what is told when the rest of a streamed input turns out to be unreadable or invalid once
+   * playing has started. Without one, the error is thrown from the timer.
+   *
+   * @param handler What is given the error message.
+   */
+  public void onLoadFailure(Consumer<String> handler) {
+    this.loadFailureHandler = handler;
+  }
+
   @Override
   public void startAnimation() {
     this.timer = new javax.swing.Timer(calculateFrameDelay(), e -> advanceModel());
@@ -59,6 +126,33 @@ public class FrameByFrameController implements ISimpleAnimationController {
    * Updates all the shapes in the given frame.
    */
   protected void advanceModel() {
+    if (this.loadFailed) {
+      return;
+    }
+    if (this.loader != null) {
+      try {
+        this.takeLatestModel();
+      } catch (IllegalStateException e) {
+        if (this.timer != null) {
+          this.timer.stop();
+        }
+        if (this.loadFailureHandler == null) {
+          throw e;
+        }
+        // Nothing after the failure can be played, so playing stops for good.
+        this.loadFailed = true;
+        this.loadFailureHandler.accept(e.getMessage());
+        return;
+      }
+
+      this.attachFrameFile();
+
+      if (model.getCurrentFrame() >= model.getSafeHorizon()) {
+        // Motions still being read could change this frame, so it waits for more of them.
+        return;
+      }
+    }
+
     if (frame > model.getMaximumFrame()) {
       this.timer.stop();
     }
@@ -66,4 +160,55 @@ public class FrameByFrameController implements ISimpleAnimationController {
     view.render(model);
     model.advanceFrame();
   }
+
+  /**
+   * Switches to the latest model the loader has read, carrying on from the same frame. Every frame
+   * played so far was final in the old model, so it is the same in the new one.
+   *
+   * @throws IllegalStateException If reading the rest of the input failed.
+   */
+  private void takeLatestModel() throws IllegalStateException {
+    ISimpleAnimationModel latest = this.loader.getLatestModel();
+
+    if (latest == this.model) {
+      return;
+    }
+
+    latest.seekToFrame(this.model.getCurrentFrame());
+    this.model = latest;
+  }
+
+  /**
+   * Gives the frame file to the model once it has been read in full and the input's hash is
+   * known, starting to work out the hash when the model is first read in full. Until then, frames
+   * are rendered as usual.
+   */
+  private void attachFrameFile() {
+    if (this.frameFile == null || this.model.getSafeHorizon() != Integer.MAX_VALUE) {
+      return;
+    }
+
+    if (this.inputHash == null) {
+      CompletableFuture<Long> hash = new CompletableFuture<>();
+      Callable<Long> hasher = this.inputHasher;
+      Thread thread = new Thread(() -> {
+        try {
+          hash.complete(hasher.call());
+        } catch (Exception e) {
+          hash.completeExceptionally(e);
+        }
+      }, "input-hasher");
+      thread.setDaemon(true);
+      thread.start();
+      this.inputHash = hash;
+      return;
+    }
+
+    if (this.inputHash.isDone()) {
+      if (!this.inputHash.isCompletedExceptionally()) {
+        this.model.setFrameFile(this.frameFile, this.inputHash.join());
+      }
+      this.frameFile = null;
+    }
+  }
 }
@@ -58,6 +58,19 @@ public class InteractiveFbyFController extends FrameByFrameController
     loop = !loop;
   }
 
+  /**
+   * Jumps the animation straight to a frame and shows it, such as for a scrub bar. Playback carries
+   * on from that frame if the animation is running.
+   *
+   * @param frame The frame to jump to.
+   * @throws IllegalArgumentException If the frame is negative.
+   */
+  public void seek(int frame) throws IllegalArgumentException {
+    model.seekToFrame(frame);
+    this.frame = frame;
+    view.render(model);
+  }
+
   @Override
   public void setAnimationSpeed(int frameRate) {
     this.frameRate = frameRate;
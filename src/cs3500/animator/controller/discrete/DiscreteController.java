@@ -3,12 +3,7 @@ package cs3500.animator.controller.discrete;
 import cs3500.animator.controller.InteractiveFbyFController;
 import cs3500.animator.view.visual.InteractiveAnimationNotifier;
 import cs3500.animator.view.visual.discrete.DiscreteInteractiveView;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import model.direction.IDirection;
 
 /**
  * Acts as a controller listener (should be tied to an interactive view) that can enable discrete
@@ -88,20 +83,6 @@ public class DiscreteController extends InteractiveFbyFController implements IDi
    * @return The list of frames that should be displayed in discrete mode.
    */
   private List<Integer> getDisplayFrames() {
-    Set<Integer> set = new HashSet<>();
-    for (List<IDirection> dirList : model.getDirections().values()) {
-      for (IDirection dir : dirList) {
-        int str = dir.getStartFrame();
-        int end = dir.getEndFrame();
-        set.add(str);
-        set.add(end);
-      }
-    }
-
-    List<Integer> list = new ArrayList<>(set);
-
-    Collections.sort(list);
-
-    return list;
+    return model.getDirectionBoundaries();
   }
 }
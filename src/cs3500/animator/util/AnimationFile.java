@@ -0,0 +1,50 @@
+package cs3500.animator.util;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * An animation input that is a file on disk. It can be read like any other Readable, but when it
+ * is handed to AnimationReader, the reader maps the file into memory and parses its bytes directly
+ * instead, and only reads it as text if the file can't be mapped.
+ */
+public final class AnimationFile implements Readable {
+
+  private final Path path;
+  private Reader reader;
+
+  /**
+   * Creates an input for the given file.
+   *
+   * @param path The file.
+   * @throws FileNotFoundException If the file doesn't exist or can't be read.
+   */
+  public AnimationFile(Path path) throws FileNotFoundException {
+    if (!Files.isRegularFile(path) || !Files.isReadable(path)) {
+      throw new FileNotFoundException(path.toString());
+    }
+    this.path = path;
+  }
+
+  /**
+   * Gets the file this input reads from.
+   *
+   * @return The path of the file.
+   */
+  public Path getPath() {
+    return this.path;
+  }
+
+  @Override
+  public int read(CharBuffer cb) throws IOException {
+    if (this.reader == null) {
+      this.reader = new InputStreamReader(Files.newInputStream(this.path));
+    }
+    return this.reader.read(cb);
+  }
+}
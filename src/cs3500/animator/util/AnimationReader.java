@@ -1,13 +1,28 @@
 package cs3500.animator.util;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.Scanner;
-import java.util.regex.Pattern;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 /**
  * A helper to read animation data and construct an animation from it.
  */
 public class AnimationReader {
+
+  private static final long PARALLEL_PARSE_THRESHOLD = 1L << 23;
+  private static final long MIN_CHUNK_SIZE = 1L << 20;
+  private static final int CHUNKS_PER_WORKER = 4;
+
   /**
    * A factory for producing new animations, given a source of shapes and a
    * builder for constructing animations.
@@ -26,18 +41,286 @@ public class AnimationReader {
    * </ul>
    * </p>
    *
+   * <p>An {@link AnimationFile} is parsed through {@link #parseFile(Path, AnimationBuilder)}
+   * instead, as long as text is read as UTF-8 or US-ASCII by default, in which case the bytes are
+   * decoded the same way, so that it comes out the same either way.
+   * Big files are parsed in parallel on the common pool, through
+   * {@link #parseFileInParallel(Path, AnimationBuilder, ForkJoinPool)}, and files written by
+   * {@link BinaryAnimationWriter} are read by {@link BinaryAnimationReader} whatever the default
+   * charset. If the file can't be mapped, it is read as text after all.</p>
+   *
    * @param readable The source of data for the animation
    * @param builder  A builder for helping to construct a new animation
    * @param <Doc>    The main model interface type describing animations
    * @return
    */
   public static <Doc> Doc parseFile(Readable readable, AnimationBuilder<Doc> builder) {
+    return parseFile(readable, builder, true);
+  }
+
+  /**
+   * Parses the input the same way as {@link #parseFile(Readable, AnimationBuilder)}, but never in
+   * parallel, so that the builder gets each record as soon as it is read instead of once every
+   * chunk before it has been read. This suits builders that use the animation while the rest of
+   * it is still being read.
+   *
+   * @param readable The source of data for the animation
+   * @param builder  A builder for helping to construct a new animation
+   * @param <Doc>    The main model interface type describing animations
+   * @return The animation the builder built
+   */
+  public static <Doc> Doc parseFileInOrder(Readable readable, AnimationBuilder<Doc> builder) {
+    return parseFile(readable, builder, false);
+  }
+
+  private static <Doc> Doc parseFile(Readable readable, AnimationBuilder<Doc> builder,
+      boolean inParallel) {
     Objects.requireNonNull(readable, "Must have non-null readable source");
     Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
-    Scanner s = new Scanner(readable);
+
+    if (readable instanceof AnimationFile) {
+      Path file = ((AnimationFile) readable).getPath();
+
+      try {
+        if (BinaryAnimationReader.isBinary(file)) {
+          return BinaryAnimationReader.parseFile(file, builder);
+        }
+        Charset charset = Charset.defaultCharset();
+
+        if (canParseBytes(charset)) {
+          return inParallel && Files.size(file) >= PARALLEL_PARSE_THRESHOLD
+              ? parseFileInParallel(file, charset, builder, ForkJoinPool.commonPool())
+              : parseFile(file, charset, builder);
+        }
+      } catch (IOException e) {
+        // Nothing has been handed to the builder yet, so the file can still be read as text.
+      }
+    }
+
+    return parse(new ReadableTokenizer(readable), builder);
+  }
+
+  /**
+   * Decides whether a file read as text in the given charset can have its bytes parsed directly
+   * instead. Only charsets that MappedTokenizer decodes exactly like a Reader would can be.
+   *
+   * @param charset The charset the file would be read as
+   * @return true if the file's bytes can be parsed directly
+   */
+  static boolean canParseBytes(Charset charset) {
+    return charset.equals(StandardCharsets.UTF_8) || charset.equals(StandardCharsets.US_ASCII);
+  }
+
+  /**
+   * Parses a file the same way as {@link #parseFile(Readable, AnimationBuilder)}, but maps it into
+   * memory and parses its bytes directly instead of decoding it into characters first. The file
+   * is read as UTF-8, which every keyword and number in it already is.
+   *
+   * @param file    The file holding the animation
+   * @param builder A builder for helping to construct a new animation
+   * @param <Doc>   The main model interface type describing animations
+   * @return The animation the builder built
+   * @throws IOException If the file can't be opened or mapped
+   */
+  public static <Doc> Doc parseFile(Path file, AnimationBuilder<Doc> builder)
+      throws IOException {
+    return parseFile(file, StandardCharsets.UTF_8, builder);
+  }
+
+  /**
+   * Parses a file the same way as {@link #parseFile(Path, AnimationBuilder)}, reading it as the
+   * given charset, which must be one that {@link #canParseBytes(Charset)} allows.
+   *
+   * @param file    The file holding the animation
+   * @param charset What the file is read as
+   * @param builder A builder for helping to construct a new animation
+   * @param <Doc>   The main model interface type describing animations
+   * @return The animation the builder built
+   * @throws IOException If the file can't be opened or mapped
+   */
+  static <Doc> Doc parseFile(Path file, Charset charset, AnimationBuilder<Doc> builder)
+      throws IOException {
+    Objects.requireNonNull(file, "Must have non-null file");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return parse(new MappedTokenizer(channel, 0, channel.size(), charset), builder);
+    }
+  }
+
+  /**
+   * Parses a file the same way as {@link #parseFile(Path, AnimationBuilder)}, but splits it into
+   * chunks at line breaks and reads the chunks at the same time on the given pool. Each chunk's
+   * records are kept until every chunk before it has been handed to the builder, so the builder
+   * sees exactly the same calls in exactly the same order, and fails with exactly the same error,
+   * as it would from a sequential parse.
+   *
+   * <p>A chunk is read on the guess that a record starts at its first word. A record split over
+   * several lines can run over into the next chunk, and then that guess was wrong; if so, the
+   * rest of the file is parsed sequentially from the end of that record instead.</p>
+   *
+   * @param file    The file holding the animation
+   * @param builder A builder for helping to construct a new animation
+   * @param pool    The pool to read the chunks on
+   * @param <Doc>   The main model interface type describing animations
+   * @return The animation the builder built
+   * @throws IOException If the file can't be opened or mapped, which is always found out before
+   *                     anything is handed to the builder
+   */
+  public static <Doc> Doc parseFileInParallel(Path file, AnimationBuilder<Doc> builder,
+      ForkJoinPool pool) throws IOException {
+    return parseFileInParallel(file, StandardCharsets.UTF_8, builder, pool);
+  }
+
+  /**
+   * Parses a file the same way as
+   * {@link #parseFileInParallel(Path, AnimationBuilder, ForkJoinPool)}, reading it as the given
+   * charset, which must be one that {@link #canParseBytes(Charset)} allows.
+   *
+   * @param file    The file holding the animation
+   * @param charset What the file is read as
+   * @param builder A builder for helping to construct a new animation
+   * @param pool    The pool to read the chunks on
+   * @param <Doc>   The main model interface type describing animations
+   * @return The animation the builder built
+   * @throws IOException If the file can't be opened or mapped, which is always found out before
+   *                     anything is handed to the builder
+   */
+  static <Doc> Doc parseFileInParallel(Path file, Charset charset, AnimationBuilder<Doc> builder,
+      ForkJoinPool pool) throws IOException {
+    Objects.requireNonNull(file, "Must have non-null file");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+    Objects.requireNonNull(pool, "Must provide a non-null pool");
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long size = channel.size();
+      long[] bounds = splitAtLines(channel, size, pool.getParallelism() * CHUNKS_PER_WORKER);
+      List<MappedTokenizer> tokenizers = new ArrayList<>();
+      List<ForkJoinTask<ParsedChunk>> chunks = new ArrayList<>();
+
+      try {
+        for (int i = 0; i + 1 < bounds.length; i++) {
+          MappedTokenizer s = new MappedTokenizer(channel, bounds[i], size, charset);
+          long limit = bounds[i + 1];
+          tokenizers.add(s);
+          chunks.add(pool.submit(() -> readChunk(s, limit)));
+        }
+
+        for (int i = 0; i < chunks.size(); i++) {
+          ParsedChunk chunk = chunks.get(i).join();
+
+          if (i > 0 && chunk.getStart() != chunks.get(i - 1).join().getEnd()) {
+            // The last chunk's tokenizer stopped right where this chunk should have started.
+            readRecords(tokenizers.get(i - 1), builder, Long.MAX_VALUE);
+            break;
+          }
+          chunk.replay(builder);
+        }
+      } finally {
+        for (ForkJoinTask<ParsedChunk> chunk : chunks) {
+          chunk.cancel(false);
+        }
+      }
+
+      return builder.build();
+    }
+  }
+
+  /**
+   * Reads the records that start in one chunk of a file, along with any words the last of them
+   * runs over into the next chunk.
+   *
+   * @param s     A tokenizer starting at the start of the chunk and reading to the end of the file
+   * @param limit Where the next chunk starts
+   * @return The chunk's records
+   */
+  private static ParsedChunk readChunk(MappedTokenizer s, long limit) {
+    ParsedChunk chunk = new ParsedChunk();
+
+    try {
+      chunk.setStart(s.getWordPosition());
+      readRecords(s, chunk, limit);
+      chunk.setEnd(s.getWordPosition());
+    } catch (RuntimeException e) {
+      chunk.setError(e);
+    }
+    return chunk;
+  }
+
+  /**
+   * Works out where to split a file into chunks, with each chunk starting at the start of a line
+   * so that none of them starts halfway through a word or a comment.
+   *
+   * @param channel The open file
+   * @param size    The size of the file
+   * @param chunks  How many chunks to aim for, if the file is big enough
+   * @return The start of each chunk, followed by the size of the file
+   * @throws IOException If the file can't be read
+   */
+  private static long[] splitAtLines(FileChannel channel, long size, int chunks)
+      throws IOException {
+    int count = (int) Math.max(1, Math.min(chunks, size / MIN_CHUNK_SIZE));
+    List<Long> starts = new ArrayList<>();
+    ByteBuffer buffer = ByteBuffer.allocate(4096);
+
+    starts.add(0L);
+
+    for (int i = 1; i < count; i++) {
+      long start = nextLineStart(channel, Math.max(size / count * i,
+          starts.get(starts.size() - 1)), size, buffer);
+
+      if (start < size && start > starts.get(starts.size() - 1)) {
+        starts.add(start);
+      }
+    }
+
+    long[] bounds = new long[starts.size() + 1];
+
+    for (int i = 0; i < starts.size(); i++) {
+      bounds[i] = starts.get(i);
+    }
+    bounds[starts.size()] = size;
+    return bounds;
+  }
+
+  /**
+   * Finds the start of the first line that starts after a point in a file.
+   *
+   * @param channel  The open file
+   * @param position Where to start looking
+   * @param size     The size of the file
+   * @param buffer   A buffer to read the file through
+   * @return Where the line starts, or the size of the file if there isn't one
+   * @throws IOException If the file can't be read
+   */
+  private static long nextLineStart(FileChannel channel, long position, long size,
+      ByteBuffer buffer) throws IOException {
+    while (position < size) {
+      buffer.clear();
+      int read = channel.read(buffer, position);
+
+      if (read < 0) {
+        break;
+      }
+      for (int i = 0; i < read; i++) {
+        if (buffer.get(i) == '\n') {
+          return position + i + 1;
+        }
+      }
+      position += read;
+    }
+    return size;
+  }
+
+  private static <Doc> Doc parse(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
+    readRecords(s, builder, Long.MAX_VALUE);
+    return builder.build();
+  }
+
+  private static void readRecords(AnimationTokenizer s, AnimationBuilder<?> builder,
+      long limit) {
     // Split at whitespace, and ignore # comment lines
-    s.useDelimiter(Pattern.compile("(\\p{Space}+|#.*)+")); 
-    while (s.hasNext()) {
+    while (s.hasNextBefore(limit)) {
       String word = s.next();
       switch (word) {
         case "canvas":
@@ -53,10 +336,9 @@ public class AnimationReader {
           throw new IllegalStateException("Unexpected keyword: " + word + s.nextLine());
       }
     }
-    return builder.build();
   }
 
-  private static <Doc> void readCanvas(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readCanvas(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     int[] vals = new int[4];
     String[] fieldNames = {"left", "top", "width", "height"};
     for (int i = 0; i < 4; i++) {
@@ -65,7 +347,7 @@ public class AnimationReader {
     builder.setBounds(vals[0], vals[1], vals[2], vals[3]);
   }
 
-  private static <Doc> void readShape(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readShape(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     String name;
     String type;
     if (s.hasNext()) {
@@ -81,7 +363,7 @@ public class AnimationReader {
     builder.declareShape(name, type);
   }
 
-  private static <Doc> void readMotion(Scanner s, AnimationBuilder<Doc> builder) {
+  private static <Doc> void readMotion(AnimationTokenizer s, AnimationBuilder<Doc> builder) {
     String[] fieldNames = new String[]{
       "initial time",
       "initial x-coordinate", "initial y-coordinate",
@@ -107,7 +389,7 @@ public class AnimationReader {
             vals[8], vals[9], vals[10], vals[11], vals[12], vals[13], vals[14], vals[15]);
   }
   
-  private static int getInt(Scanner s, String label, String fieldName) {
+  private static int getInt(AnimationTokenizer s, String label, String fieldName) {
     if (s.hasNextInt()) {
       return s.nextInt();
     } else if (s.hasNext()) {
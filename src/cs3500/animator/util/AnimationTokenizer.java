@@ -0,0 +1,247 @@
+package cs3500.animator.util;
+
+import java.text.DecimalFormatSymbols;
+import java.util.NoSuchElementException;
+
+/**
+ * Splits animation input into words and integers. Words are split the same way the reader's old
+ * Scanner split them, at runs of whitespace and # comments (which last until the end of their
+ * line), and integers are parsed straight from each word without going through a regular
+ * expression. Where the characters come from is up to each kind of tokenizer.
+ */
+abstract class AnimationTokenizer {
+
+  private final char groupSeparator = DecimalFormatSymbols.getInstance().getGroupingSeparator();
+
+  private final StringBuilder token;
+  private boolean hasToken;
+  private boolean tokenIsInt;
+  private int tokenValue;
+
+  /**
+   * Sets up a tokenizer with no word read yet.
+   */
+  AnimationTokenizer() {
+    this.token = new StringBuilder();
+  }
+
+  /**
+   * Whether there is another word in the input.
+   *
+   * @return true if there is another word.
+   */
+  boolean hasNext() {
+    return this.peekToken();
+  }
+
+  /**
+   * Whether there is another word in the input that starts before a given point in it. Only
+   * tokenizers that know where they are in the input can stop early; the rest look for the next
+   * word anywhere. This must not be called right after looking at a word without moving past it.
+   *
+   * @param limit Where in the input a word has to start before, in bytes.
+   * @return true if there is another word before the limit.
+   */
+  boolean hasNextBefore(long limit) {
+    return this.hasNext();
+  }
+
+  /**
+   * Gets the next word in the input.
+   *
+   * @return The next word.
+   * @throws NoSuchElementException If there are no more words.
+   */
+  String next() throws NoSuchElementException {
+    if (!this.peekToken()) {
+      throw new NoSuchElementException();
+    }
+    this.hasToken = false;
+    return this.token.toString();
+  }
+
+  /**
+   * Whether the next word in the input is an integer that fits in an int.
+   *
+   * @return true if the next word is an int.
+   */
+  boolean hasNextInt() {
+    return this.peekToken() && this.tokenIsInt;
+  }
+
+  /**
+   * Gets the next word in the input as an int.
+   *
+   * @return The next int.
+   * @throws NoSuchElementException If the next word isn't an int, or there are no more words.
+   */
+  int nextInt() throws NoSuchElementException {
+    if (!this.hasNextInt()) {
+      throw new NoSuchElementException();
+    }
+    this.hasToken = false;
+    return this.tokenValue;
+  }
+
+  /**
+   * Gets the rest of the current line, right from the end of the last word, and moves on to the
+   * start of the next line.
+   *
+   * @return The rest of the line, without the line separator.
+   * @throws NoSuchElementException If there is no more input at all.
+   */
+  String nextLine() throws NoSuchElementException {
+    // Looking at a word reads past it, so the line would have to start after that word instead.
+    if (this.hasToken) {
+      throw new IllegalStateException("Can't read a line after looking at the next word.");
+    }
+    if (this.peekChar() < 0) {
+      throw new NoSuchElementException("No line found");
+    }
+
+    StringBuilder line = new StringBuilder();
+
+    for (int c = this.peekChar(); c >= 0 && !isLineSeparator(c); c = this.peekChar()) {
+      line.append(this.nextChar());
+    }
+    if (this.peekChar() >= 0 && this.nextChar() == '\r' && this.peekChar() == '\n') {
+      this.nextChar();
+    }
+
+    return line.toString();
+  }
+
+  /**
+   * Reads the next word into the token, if it hasn't been read already, and works out whether it
+   * is an int.
+   *
+   * @return true if there is a next word.
+   */
+  private boolean peekToken() {
+    if (this.hasToken) {
+      return true;
+    }
+
+    this.skipDelimiters();
+    this.token.setLength(0);
+
+    for (int c = this.peekChar(); c >= 0 && !isDelimiter(c); c = this.peekChar()) {
+      this.token.append(this.nextChar());
+    }
+
+    if (this.token.length() == 0) {
+      return false;
+    }
+
+    this.hasToken = true;
+    this.parseInt();
+    return true;
+  }
+
+  /**
+   * Works out whether the token is an integer, optionally signed, that fits in an int. Like
+   * Scanner, digits may be split into groups of three by the default locale's group separator,
+   * as in 1,000.
+   */
+  private void parseInt() {
+    int length = this.token.length();
+    int start = this.token.charAt(0) == '-' || this.token.charAt(0) == '+' ? 1 : 0;
+    boolean negative = this.token.charAt(0) == '-';
+    int lastSeparator = -1;
+    long value = 0;
+
+    this.tokenIsInt = false;
+
+    if (start == length) {
+      return;
+    }
+
+    for (int index = start; index < length; index++) {
+      char c = this.token.charAt(index);
+
+      if (c == this.groupSeparator) {
+        // The first group holds one to three digits and can't start with 0; the rest hold three.
+        boolean validGroup = lastSeparator < 0
+            ? index - start >= 1 && index - start <= 3 && this.token.charAt(start) != '0'
+            : index - lastSeparator == 4;
+
+        if (!validGroup) {
+          return;
+        }
+        lastSeparator = index;
+        continue;
+      }
+
+      int digit = Character.digit(c, 10);
+
+      if (digit < 0) {
+        return;
+      }
+
+      value = value * 10 + digit;
+
+      if (value > (long) Integer.MAX_VALUE + 1) {
+        return;
+      }
+    }
+
+    value = negative ? -value : value;
+
+    if (lastSeparator >= 0 && length - lastSeparator != 4 || value > Integer.MAX_VALUE) {
+      return;
+    }
+
+    this.tokenIsInt = true;
+    this.tokenValue = (int) value;
+  }
+
+  /**
+   * Skips whitespace and comments up to the start of the next word.
+   */
+  void skipDelimiters() {
+    for (int c = this.peekChar(); c >= 0 && isDelimiter(c); c = this.peekChar()) {
+      if (c == '#') {
+        while (c >= 0 && !isLineSeparator(c)) {
+          this.nextChar();
+          c = this.peekChar();
+        }
+      } else {
+        this.nextChar();
+      }
+    }
+  }
+
+  /**
+   * Looks at the next character without moving past it.
+   *
+   * @return The next character, or -1 if there is no more input.
+   */
+  abstract int peekChar();
+
+  /**
+   * Moves past the next character.
+   *
+   * @return The character that was moved past.
+   */
+  abstract char nextChar();
+
+  /**
+   * Whether a character splits words: whitespace, or the start of a comment.
+   *
+   * @param c The character.
+   * @return true if the character is a delimiter.
+   */
+  private static boolean isDelimiter(int c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == 0x0B || c == '\f' || c == '\r' || c == '#';
+  }
+
+  /**
+   * Whether a character ends a line, which is also where a comment ends.
+   *
+   * @param c The character.
+   * @return true if the character is a line separator.
+   */
+  private static boolean isLineSeparator(int c) {
+    return c == '\n' || c == '\r' || c == 0x85 || c == 0x2028 || c == 0x2029;
+  }
+}
@@ -0,0 +1,176 @@
+package cs3500.animator.util;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Reads animations written by {@link BinaryAnimationWriter}, handing everything in them to a
+ * builder the same way {@link AnimationReader} does for text: the canvas first, then every shape,
+ * then every motion in the order they were written.
+ */
+public final class BinaryAnimationReader {
+
+  private BinaryAnimationReader() {
+  }
+
+  /**
+   * Whether a file is a binary animation, going by the marker it starts with.
+   *
+   * @param file The file.
+   * @return true if the file starts with the binary marker.
+   * @throws IOException If the file can't be read.
+   */
+  public static boolean isBinary(Path file) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer start = ByteBuffer.allocate(BinaryAnimationWriter.MARKER.length);
+
+      while (start.hasRemaining() && channel.read(start) >= 0) {
+        // Keep reading until the marker's worth of bytes is in or the file runs out.
+      }
+      return !start.hasRemaining()
+          && start.flip().equals(ByteBuffer.wrap(BinaryAnimationWriter.MARKER));
+    }
+  }
+
+  /**
+   * Maps a binary animation file into memory and reads it.
+   *
+   * @param file    The file holding the animation
+   * @param builder A builder for helping to construct a new animation
+   * @param <Doc>   The main model interface type describing animations
+   * @return The animation the builder built
+   * @throws IOException If the file can't be opened or mapped
+   */
+  public static <Doc> Doc parseFile(Path file, AnimationBuilder<Doc> builder)
+      throws IOException {
+    Objects.requireNonNull(file, "Must have non-null file");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (channel.size() > Integer.MAX_VALUE) {
+        throw new IOException("Binary animation is too big to map.");
+      }
+      return parse(channel.map(MapMode.READ_ONLY, 0, channel.size()), builder);
+    }
+  }
+
+  /**
+   * Reads a binary animation from the bytes left in a buffer.
+   *
+   * @param bytes   The binary animation
+   * @param builder A builder for helping to construct a new animation
+   * @param <Doc>   The main model interface type describing animations
+   * @return The animation the builder built
+   * @throws IllegalStateException If the bytes aren't a binary animation of a known version, or
+   *                               end too early
+   */
+  public static <Doc> Doc parse(ByteBuffer bytes, AnimationBuilder<Doc> builder)
+      throws IllegalStateException {
+    Objects.requireNonNull(bytes, "Must have non-null bytes");
+    Objects.requireNonNull(builder, "Must provide a non-null AnimationBuilder");
+
+    try {
+      readHeader(bytes, builder);
+      String[] strings = readStrings(bytes);
+
+      int shapeCount = readCount(bytes);
+      for (int i = 0; i < shapeCount; i++) {
+        builder.declareShape(getString(strings, readUnsigned(bytes)),
+            getString(strings, readUnsigned(bytes)));
+      }
+
+      int motionCount = readCount(bytes);
+      int[] v = new int[BinaryAnimationWriter.MOTION_VALUES * 2];
+      for (int i = 0; i < motionCount; i++) {
+        String name = getString(strings, readUnsigned(bytes));
+
+        for (int j = 0; j < BinaryAnimationWriter.MOTION_VALUES; j++) {
+          v[j] = readSigned(bytes);
+        }
+        for (int j = 0; j < BinaryAnimationWriter.MOTION_VALUES; j++) {
+          v[BinaryAnimationWriter.MOTION_VALUES + j] = v[j] + readSigned(bytes);
+        }
+        builder.addMotion(name, v[0], v[1], v[2], v[3], v[4], v[5], v[6], v[7],
+            v[8], v[9], v[10], v[11], v[12], v[13], v[14], v[15]);
+      }
+    } catch (BufferUnderflowException e) {
+      throw new IllegalStateException("Binary: expected more input, but no more input available");
+    }
+
+    return builder.build();
+  }
+
+  private static void readHeader(ByteBuffer bytes, AnimationBuilder<?> builder) {
+    byte[] marker = new byte[BinaryAnimationWriter.MARKER.length];
+    bytes.get(marker);
+
+    if (!ByteBuffer.wrap(marker).equals(ByteBuffer.wrap(BinaryAnimationWriter.MARKER))) {
+      throw new IllegalStateException("Binary: not a binary animation");
+    }
+
+    int version = readUnsigned(bytes);
+    if (version != BinaryAnimationWriter.VERSION) {
+      throw new IllegalStateException("Binary: unsupported version " + version);
+    }
+
+    if (readUnsigned(bytes) != 0) {
+      builder.setBounds(readSigned(bytes), readSigned(bytes), readSigned(bytes),
+          readSigned(bytes));
+    }
+  }
+
+  private static String[] readStrings(ByteBuffer bytes) {
+    String[] strings = new String[readCount(bytes)];
+
+    for (int i = 0; i < strings.length; i++) {
+      byte[] encoded = new byte[readCount(bytes)];
+      bytes.get(encoded);
+      strings[i] = new String(encoded, StandardCharsets.UTF_8);
+    }
+    return strings;
+  }
+
+  private static String getString(String[] strings, int index) {
+    if (index < 0 || index >= strings.length) {
+      throw new IllegalStateException("Binary: expected a name or type, got index " + index);
+    }
+    return strings[index];
+  }
+
+  private static int readCount(ByteBuffer bytes) {
+    int count = readUnsigned(bytes);
+
+    // Everything counted takes at least a byte, so a corrupt count fails here instead of
+    // allocating a huge array.
+    if (count < 0 || count > bytes.remaining()) {
+      throw new BufferUnderflowException();
+    }
+    return count;
+  }
+
+  private static int readSigned(ByteBuffer bytes) {
+    int zigzag = readUnsigned(bytes);
+    return (zigzag >>> 1) ^ -(zigzag & 1);
+  }
+
+  private static int readUnsigned(ByteBuffer bytes) {
+    int value = 0;
+
+    for (int shift = 0; shift < 35; shift += 7) {
+      byte b = bytes.get();
+      value |= (b & 0x7F) << shift;
+
+      if (b >= 0) {
+        return value;
+      }
+    }
+    throw new IllegalStateException("Binary: number is too long");
+  }
+}
@@ -0,0 +1,149 @@
+package cs3500.animator.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the binary form of an animation, which {@link BinaryAnimationReader} reads back. Being a
+ * builder itself, it can be handed to {@link AnimationReader} to turn a text file into a binary
+ * one, or fed straight from a model.
+ *
+ * <p>Every number is written as a variable-length int of seven bits a byte, with signed numbers
+ * zigzagged first so small negative numbers stay short. The file holds, in order:</p>
+ * <ul>
+ * <li>the marker bytes "ANIB" and the format version;</li>
+ * <li>whether there is a canvas, followed by its left, top, width and height if there is;</li>
+ * <li>a table of every name and type used, each written once as UTF-8;</li>
+ * <li>a table of shapes, each the index of its name and of its type in the table;</li>
+ * <li>the motions, each the index of its shape's name, the initial time and values, then the final
+ * time and values as differences from the initial ones, which are mostly zero.</li>
+ * </ul>
+ */
+public final class BinaryAnimationWriter implements AnimationBuilder<byte[]> {
+
+  static final byte[] MARKER = {'A', 'N', 'I', 'B'};
+  static final int VERSION = 1;
+  static final int MOTION_VALUES = 8;
+
+  private final Map<String, Integer> stringIds;
+  private final List<String> strings;
+  private final ByteArrayOutputStream shapes;
+  private final ByteArrayOutputStream motions;
+  private int[] canvas;
+  private int shapeCount;
+  private int motionCount;
+
+  /**
+   * Creates a writer with nothing in it yet.
+   */
+  public BinaryAnimationWriter() {
+    this.stringIds = new HashMap<>();
+    this.strings = new ArrayList<>();
+    this.shapes = new ByteArrayOutputStream();
+    this.motions = new ByteArrayOutputStream();
+  }
+
+  @Override
+  public byte[] build() {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(
+        64 + this.shapes.size() + this.motions.size());
+
+    out.writeBytes(MARKER);
+    writeUnsigned(out, VERSION);
+
+    if (this.canvas == null) {
+      writeUnsigned(out, 0);
+    } else {
+      writeUnsigned(out, 1);
+      for (int value : this.canvas) {
+        writeSigned(out, value);
+      }
+    }
+
+    writeUnsigned(out, this.strings.size());
+    for (String string : this.strings) {
+      byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+      writeUnsigned(out, bytes.length);
+      out.writeBytes(bytes);
+    }
+
+    writeUnsigned(out, this.shapeCount);
+    out.writeBytes(this.shapes.toByteArray());
+    writeUnsigned(out, this.motionCount);
+    out.writeBytes(this.motions.toByteArray());
+    return out.toByteArray();
+  }
+
+  @Override
+  public AnimationBuilder<byte[]> setBounds(int x, int y, int width, int height) {
+    this.canvas = new int[]{x, y, width, height};
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<byte[]> declareShape(String name, String type) {
+    writeUnsigned(this.shapes, this.getStringId(name));
+    writeUnsigned(this.shapes, this.getStringId(type));
+    this.shapeCount++;
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<byte[]> addMotion(String name, int t1, int x1, int y1, int w1, int h1,
+      int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2, int b2) {
+    int[] initial = {t1, x1, y1, w1, h1, r1, g1, b1};
+    int[] last = {t2, x2, y2, w2, h2, r2, g2, b2};
+
+    writeUnsigned(this.motions, this.getStringId(name));
+    for (int value : initial) {
+      writeSigned(this.motions, value);
+    }
+    for (int i = 0; i < MOTION_VALUES; i++) {
+      writeSigned(this.motions, last[i] - initial[i]);
+    }
+    this.motionCount++;
+    return this;
+  }
+
+  /**
+   * Gets the index of a string in the table, adding it if it isn't there yet.
+   *
+   * @param string The string.
+   * @return Its index in the table.
+   */
+  private int getStringId(String string) {
+    return this.stringIds.computeIfAbsent(string, s -> {
+      this.strings.add(s);
+      return this.strings.size() - 1;
+    });
+  }
+
+  /**
+   * Writes a signed number, zigzagged so that numbers near zero either way come out short.
+   *
+   * @param out   Where to write to.
+   * @param value The number.
+   */
+  private static void writeSigned(ByteArrayOutputStream out, int value) {
+    writeUnsigned(out, (value << 1) ^ (value >> 31));
+  }
+
+  /**
+   * Writes an unsigned number seven bits at a time, lowest first, with the top bit of each byte
+   * set if more bytes follow.
+   *
+   * @param out   Where to write to.
+   * @param value The number, read as unsigned.
+   */
+  private static void writeUnsigned(ByteArrayOutputStream out, int value) {
+    while ((value & ~0x7F) != 0) {
+      out.write((value & 0x7F) | 0x80);
+      value >>>= 7;
+    }
+    out.write(value);
+  }
+}
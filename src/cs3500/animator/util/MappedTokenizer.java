@@ -0,0 +1,190 @@
+package cs3500.animator.util;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A tokenizer that reads straight from a memory mapped file, without going through a Reader.
+ * Keywords and numbers are plain ASCII, so almost every byte is a character as it is; the few
+ * bytes that aren't ASCII are decoded as UTF-8 on the spot, or, for a file read as US-ASCII, each
+ * come out as the replacement character. Files too big to map at once are
+ * mapped a piece at a time as the tokenizer reaches them.
+ */
+final class MappedTokenizer extends AnimationTokenizer {
+
+  private static final long MAX_MAPPING = 1L << 30;
+  private static final int NO_CHAR = -2;
+
+  private final FileChannel channel;
+  private final long end;
+  private final boolean asciiOnly;
+  private long mapped;
+  private MappedByteBuffer buffer;
+
+  private int next = NO_CHAR;
+  private long nextPosition;
+  private int lowSurrogate = NO_CHAR;
+
+  /**
+   * Creates a tokenizer that reads part of a file.
+   *
+   * @param channel The open file, which the tokenizer doesn't close.
+   * @param start   Where in the file to start reading, in bytes.
+   * @param end     Where in the file to stop reading, in bytes.
+   * @param charset What the file is read as, which is either UTF-8 or US-ASCII.
+   * @throws IOException If the file can't be mapped.
+   */
+  MappedTokenizer(FileChannel channel, long start, long end, Charset charset) throws IOException {
+    this.channel = channel;
+    this.end = end;
+    this.asciiOnly = charset.equals(StandardCharsets.US_ASCII);
+
+    long length = Math.min(MAX_MAPPING, end - start);
+    this.buffer = channel.map(MapMode.READ_ONLY, start, length);
+    this.mapped = start + length;
+  }
+
+  @Override
+  boolean hasNextBefore(long limit) {
+    return this.getWordPosition() < limit && this.hasNext();
+  }
+
+  /**
+   * Skips whitespace and comments and gets where the next word starts. This must not be called
+   * right after looking at a word without moving past it.
+   *
+   * @return Where in the file the next word starts, in bytes, or where the tokenizer stops reading
+   *         if there are no more words.
+   */
+  long getWordPosition() {
+    this.skipDelimiters();
+    return this.peekChar() < 0 ? this.end : this.nextPosition;
+  }
+
+  @Override
+  int peekChar() {
+    if (this.next == NO_CHAR) {
+      this.nextPosition = this.mapped - this.buffer.remaining();
+      this.next = this.decode();
+    }
+    return this.next;
+  }
+
+  @Override
+  char nextChar() {
+    char c = (char) this.peekChar();
+    this.next = NO_CHAR;
+    return c;
+  }
+
+  /**
+   * Decodes the next character from the bytes. Characters outside of the basic plane come out as
+   * two halves, like they would from a Reader, and bytes that aren't valid UTF-8 come out as the
+   * replacement character. When the file is read as US-ASCII, every byte that isn't ASCII is the
+   * replacement character on its own, as it is from a Reader.
+   *
+   * @return The next character, or -1 if there are no more bytes.
+   */
+  private int decode() {
+    if (this.lowSurrogate != NO_CHAR) {
+      int c = this.lowSurrogate;
+      this.lowSurrogate = NO_CHAR;
+      return c;
+    }
+
+    int first = this.readByte();
+
+    if (first < 0x80) {
+      return first;
+    }
+    if (this.asciiOnly) {
+      return 0xFFFD;
+    }
+
+    int extraBytes;
+    int codePoint;
+
+    if ((first & 0xE0) == 0xC0) {
+      extraBytes = 1;
+      codePoint = first & 0x1F;
+    } else if ((first & 0xF0) == 0xE0) {
+      extraBytes = 2;
+      codePoint = first & 0x0F;
+    } else if ((first & 0xF8) == 0xF0) {
+      extraBytes = 3;
+      codePoint = first & 0x07;
+    } else {
+      return 0xFFFD;
+    }
+
+    for (int i = 0; i < extraBytes; i++) {
+      int following = this.peekByte();
+
+      if (following < 0 || (following & 0xC0) != 0x80) {
+        return 0xFFFD;
+      }
+      this.readByte();
+      codePoint = codePoint << 6 | (following & 0x3F);
+    }
+
+    if (Character.isSupplementaryCodePoint(codePoint)) {
+      this.lowSurrogate = Character.lowSurrogate(codePoint);
+      return Character.highSurrogate(codePoint);
+    }
+    return codePoint;
+  }
+
+  /**
+   * Moves past the next byte.
+   *
+   * @return The byte, or -1 if there are no more.
+   */
+  private int readByte() {
+    int b = this.peekByte();
+
+    if (b >= 0) {
+      this.buffer.get();
+    }
+    return b;
+  }
+
+  /**
+   * Looks at the next byte without moving past it, mapping the next piece of the file if this one
+   * has run out.
+   *
+   * @return The byte, or -1 if there are no more.
+   */
+  private int peekByte() {
+    if (!this.buffer.hasRemaining() && !this.mapNext()) {
+      return -1;
+    }
+    return this.buffer.get(this.buffer.position()) & 0xFF;
+  }
+
+  /**
+   * Maps the next piece of the file. A piece that fails to map is treated as the end of the input,
+   * as a failed read is for a Reader.
+   *
+   * @return true if there was anything left to map.
+   */
+  private boolean mapNext() {
+    if (this.mapped >= this.end) {
+      return false;
+    }
+
+    long length = Math.min(MAX_MAPPING, this.end - this.mapped);
+
+    try {
+      this.buffer = this.channel.map(MapMode.READ_ONLY, this.mapped, length);
+      this.mapped += length;
+      return true;
+    } catch (IOException e) {
+      this.mapped = this.end;
+      return false;
+    }
+  }
+}
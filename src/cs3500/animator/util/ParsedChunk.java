@@ -0,0 +1,183 @@
+package cs3500.animator.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The records read from one chunk of an animation file, kept in the order they were read so they
+ * can be handed on to the real builder later exactly as if it had read them itself. Records are
+ * packed into arrays of ints and names rather than an object each, and each name is only kept
+ * once however many motions use it, so a chunk of a big file stays small.
+ *
+ * <p>If reading the chunk fails, the error is kept too, and is thrown once every record read
+ * before it has been handed on.</p>
+ */
+final class ParsedChunk implements AnimationBuilder<ParsedChunk> {
+
+  private static final byte CANVAS = 0;
+  private static final byte SHAPE = 1;
+  private static final byte MOTION = 2;
+
+  private final Map<String, String> knownNames;
+
+  private byte[] kinds;
+  private int recordCount;
+  private int[] values;
+  private int valueCount;
+  private String[] names;
+  private int nameCount;
+
+  private long start;
+  private long end;
+  private RuntimeException error;
+
+  /**
+   * Creates a chunk with no records in it.
+   */
+  ParsedChunk() {
+    this.knownNames = new HashMap<>();
+    this.kinds = new byte[64];
+    this.values = new int[64 * 16];
+    this.names = new String[64];
+  }
+
+  @Override
+  public ParsedChunk build() {
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<ParsedChunk> setBounds(int x, int y, int width, int height) {
+    this.addKind(CANVAS);
+    this.addValues(x, y, width, height);
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<ParsedChunk> declareShape(String name, String type) {
+    this.addKind(SHAPE);
+    this.addName(name);
+    this.addName(type);
+    return this;
+  }
+
+  @Override
+  public AnimationBuilder<ParsedChunk> addMotion(String name, int t1, int x1, int y1, int w1,
+      int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2,
+      int b2) {
+    this.addKind(MOTION);
+    this.addName(name);
+    this.addValues(t1, x1, y1, w1, h1, r1, g1, b1, t2, x2, y2, w2, h2, r2, g2, b2);
+    return this;
+  }
+
+  /**
+   * Notes where the chunk's first word starts in the file.
+   *
+   * @param start The position in the file, in bytes.
+   */
+  void setStart(long start) {
+    this.start = start;
+  }
+
+  /**
+   * Notes where the first word after the chunk's last record starts in the file.
+   *
+   * @param end The position in the file, in bytes.
+   */
+  void setEnd(long end) {
+    this.end = end;
+  }
+
+  /**
+   * Keeps the error that stopped the chunk from being read any further.
+   *
+   * @param error The error.
+   */
+  void setError(RuntimeException error) {
+    this.error = error;
+  }
+
+  /**
+   * Gets where the chunk's first word starts.
+   *
+   * @return The position in the file, in bytes.
+   */
+  long getStart() {
+    return this.start;
+  }
+
+  /**
+   * Gets where the first word after the chunk's last record starts, which is where the next chunk
+   * has to start for the two to fit together.
+   *
+   * @return The position in the file, in bytes.
+   */
+  long getEnd() {
+    return this.end;
+  }
+
+  /**
+   * Hands every record in the chunk on to a builder, in the order they were read.
+   *
+   * @param builder The builder.
+   * @throws RuntimeException If reading the chunk failed, once everything before the failure has
+   *                          been handed on.
+   */
+  void replay(AnimationBuilder<?> builder) throws RuntimeException {
+    int value = 0;
+    int name = 0;
+
+    for (int record = 0; record < this.recordCount; record++) {
+      switch (this.kinds[record]) {
+        case CANVAS:
+          builder.setBounds(this.values[value], this.values[value + 1], this.values[value + 2],
+              this.values[value + 3]);
+          value += 4;
+          break;
+        case SHAPE:
+          builder.declareShape(this.names[name], this.names[name + 1]);
+          name += 2;
+          break;
+        default:
+          int[] v = this.values;
+          int i = value;
+          builder.addMotion(this.names[name],
+              v[i], v[i + 1], v[i + 2], v[i + 3], v[i + 4], v[i + 5], v[i + 6], v[i + 7],
+              v[i + 8], v[i + 9], v[i + 10], v[i + 11], v[i + 12], v[i + 13], v[i + 14],
+              v[i + 15]);
+          value += 16;
+          name += 1;
+          break;
+      }
+    }
+
+    if (this.error != null) {
+      throw this.error;
+    }
+  }
+
+  private void addKind(byte kind) {
+    if (this.recordCount == this.kinds.length) {
+      this.kinds = Arrays.copyOf(this.kinds, this.kinds.length * 2);
+    }
+    this.kinds[this.recordCount++] = kind;
+  }
+
+  private void addValues(int... added) {
+    if (this.valueCount + added.length > this.values.length) {
+      this.values = Arrays.copyOf(this.values,
+          Math.max(this.values.length * 2, this.valueCount + added.length));
+    }
+    System.arraycopy(added, 0, this.values, this.valueCount, added.length);
+    this.valueCount += added.length;
+  }
+
+  private void addName(String name) {
+    if (this.nameCount == this.names.length) {
+      this.names = Arrays.copyOf(this.names, this.names.length * 2);
+    }
+    this.names[this.nameCount++] = this.knownNames.computeIfAbsent(name, n -> n);
+  }
+}
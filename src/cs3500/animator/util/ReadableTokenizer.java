@@ -0,0 +1,68 @@
+package cs3500.animator.util;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+
+/**
+ * A tokenizer that reads characters from a Readable, a buffer at a time.
+ */
+final class ReadableTokenizer extends AnimationTokenizer {
+
+  private static final int BUFFER_SIZE = 1 << 14;
+
+  private final Readable source;
+  private final CharBuffer buffer;
+  private boolean exhausted;
+
+  /**
+   * Creates a tokenizer that reads from the given source.
+   *
+   * @param source Where the input comes from.
+   */
+  ReadableTokenizer(Readable source) {
+    this.source = source;
+    this.buffer = CharBuffer.allocate(BUFFER_SIZE);
+    this.buffer.flip();
+  }
+
+  @Override
+  int peekChar() {
+    if (!this.buffer.hasRemaining() && !this.fill()) {
+      return -1;
+    }
+    return this.buffer.get(this.buffer.position());
+  }
+
+  @Override
+  char nextChar() {
+    return this.buffer.get();
+  }
+
+  /**
+   * Reads more input into the empty buffer. Input that fails to be read is treated as the end of
+   * the input, as it was with Scanner.
+   *
+   * @return true if anything was read.
+   */
+  private boolean fill() {
+    if (this.exhausted) {
+      return false;
+    }
+
+    this.buffer.clear();
+
+    try {
+      int read;
+      do {
+        read = this.source.read(this.buffer);
+      } while (read == 0);
+
+      this.exhausted = read < 0;
+    } catch (IOException e) {
+      this.exhausted = true;
+    }
+
+    this.buffer.flip();
+    return this.buffer.hasRemaining();
+  }
+}
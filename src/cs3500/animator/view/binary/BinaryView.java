@@ -0,0 +1,178 @@
+package cs3500.animator.view.binary;
+
+import cs3500.animator.util.AnimationBuilder;
+import cs3500.animator.util.BinaryAnimationWriter;
+import cs3500.animator.view.IView;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import model.ISimpleAnimationModel;
+import model.direction.ColorDirection;
+import model.direction.CreateDirection;
+import model.direction.IDirection;
+import model.direction.MoveDirection;
+import model.direction.ResizeDirection;
+import model.direction.StallDirection;
+import model.shape.ShapeState;
+import model.utils.Pair;
+
+/**
+ * A view that writes the model out in the binary animation format, which loads much faster than
+ * the text format and takes up a fraction of the space. Reading the output back in builds the same
+ * animation the model holds.
+ *
+ * <p>The model only keeps the directions each motion was split into, so each direction is written
+ * back as a motion of its own that changes only what the direction changes, which the builder
+ * turns back into that same direction.</p>
+ */
+public class BinaryView implements IView {
+
+  private final OutputStream out;
+  private boolean initialized;
+
+  /**
+   * Creates a view that writes to the given stream.
+   *
+   * @param out Where the binary animation should be written to.
+   */
+  public BinaryView(OutputStream out) {
+    this.out = out;
+  }
+
+  /**
+   * Writes the model into the binary animation format.
+   *
+   * @param model The model to write.
+   * @return The binary animation.
+   * @throws IllegalStateException If the view isn't initialized, or a shape doesn't start with a
+   *                               create direction.
+   */
+  public byte[] toBytes(ISimpleAnimationModel model) throws IllegalStateException {
+    if (!this.initialized) {
+      throw new IllegalStateException("View is not initialized.");
+    }
+
+    BinaryAnimationWriter writer = new BinaryAnimationWriter();
+    Pair<Integer, Integer> corner = model.getTopCoord();
+    Pair<Integer, Integer> bounds = model.getBoundaries();
+
+    writer.setBounds(corner.getValue0(), corner.getValue1(),
+        bounds.getValue0(), bounds.getValue1());
+
+    List<ShapeState> shapes = model.getShapeStates();
+
+    for (ShapeState shape : shapes) {
+      writer.declareShape(shape.getName(), shape.getShapeType().toLowerCase());
+    }
+    for (ShapeState shape : shapes) {
+      this.writeMotions(writer, model, shape.getName(), corner);
+    }
+
+    return writer.build();
+  }
+
+  /**
+   * Writes every direction of a shape as a motion. The initial values of each motion are the
+   * values the directions before it left the shape at, with the value the direction changes moved
+   * off of its final value if the two happen to be the same, so the builder still sees a change.
+   *
+   * @param writer    The writer.
+   * @param model     The model.
+   * @param shapeName The name of the shape.
+   * @param corner    The corner coordinate, which the model takes off of every move.
+   * @throws IllegalStateException If the shape doesn't start with a create direction.
+   */
+  private void writeMotions(AnimationBuilder<byte[]> writer, ISimpleAnimationModel model,
+      String shapeName, Pair<Integer, Integer> corner) throws IllegalStateException {
+    List<IDirection> directions = model.getDirectionsForShape(shapeName);
+
+    if (directions.isEmpty()) {
+      return;
+    }
+    if (!(directions.get(0) instanceof CreateDirection)) {
+      throw new IllegalStateException("Shape " + shapeName + " isn't created first.");
+    }
+
+    CreateDirection create = (CreateDirection) directions.get(0);
+    int[] values = {create.getX(), create.getY(), create.getWidth(), create.getHeight(),
+        create.getRed(), create.getGreen(), create.getBlue()};
+
+    // A motion that starts and ends on the same frame only creates the shape, at exactly the
+    // position given, unlike moves, which are offset by the corner.
+    this.writeMotion(writer, shapeName, create.getStartFrame(), values,
+        create.getStartFrame(), values);
+
+    for (IDirection direction : directions.subList(1, directions.size())) {
+      int[] from = values.clone();
+      int[] to = values.clone();
+      int changed;
+
+      // A stall is a move that doesn't go anywhere, so it has to be picked out first.
+      if (direction instanceof StallDirection) {
+        changed = -1;
+      } else if (direction instanceof MoveDirection) {
+        changed = 0;
+        to[0] = ((MoveDirection) direction).getNewX() + corner.getValue0();
+        to[1] = ((MoveDirection) direction).getNewY() + corner.getValue1();
+      } else if (direction instanceof ResizeDirection) {
+        changed = 2;
+        to[2] = ((ResizeDirection) direction).getNewWidth();
+        to[3] = ((ResizeDirection) direction).getNewHeight();
+      } else if (direction instanceof ColorDirection) {
+        changed = 4;
+        to[4] = ((ColorDirection) direction).getRed();
+        to[5] = ((ColorDirection) direction).getGreen();
+        to[6] = ((ColorDirection) direction).getBlue();
+      } else {
+        throw new IllegalStateException("Can't write a " + direction.getType() + " direction.");
+      }
+
+      if (changed >= 0 && Arrays.equals(from, to)) {
+        from[changed] = to[changed] + 1;
+      }
+
+      this.writeMotion(writer, shapeName, direction.getStartFrame(), from,
+          direction.getEndFrame(), to);
+      values = to;
+    }
+  }
+
+  /**
+   * Writes a single motion.
+   *
+   * @param writer    The writer.
+   * @param shapeName The name of the shape.
+   * @param t1        The frame the motion starts on.
+   * @param from      The x, y, width, height, red, green and blue the motion starts at.
+   * @param t2        The frame the motion ends on.
+   * @param to        The x, y, width, height, red, green and blue the motion ends at.
+   */
+  private void writeMotion(AnimationBuilder<byte[]> writer, String shapeName,
+      int t1, int[] from, int t2, int[] to) {
+    writer.addMotion(shapeName,
+        t1, from[0], from[1], from[2], from[3], from[4], from[5], from[6],
+        t2, to[0], to[1], to[2], to[3], to[4], to[5], to[6]);
+  }
+
+  @Override
+  public void render(ISimpleAnimationModel model) {
+    try {
+      this.out.write(this.toBytes(model));
+      this.out.flush();
+    } catch (IOException e) {
+      throw new IllegalStateException("Unable to output.");
+    }
+  }
+
+  @Override
+  public void initialize(int width, int height, int frameRate) {
+    this.initialized = true;
+  }
+
+  @Override
+  public String toString(ISimpleAnimationModel model) {
+    return Base64.getEncoder().encodeToString(this.toBytes(model));
+  }
+}
@@ -6,7 +6,6 @@ import model.direction.IDirection;
 import model.shape.CoordinateType;
 import model.shape.IShape;
 import model.utils.Pair;
-import model.utils.Triplet;
 
 /**
  * An SvgAbstractShape is a class for handling mehtods for formatting animation commands. It
@@ -43,8 +42,8 @@ public abstract class SvgAbstractShape {
     Map<String, Integer[]> args = new HashMap<>();
 
     args.putIfAbsent("fill", new Integer[]{
-        start.getColor().getValue0(), start.getColor().getValue1(), start.getColor().getValue2(),
-        end.getColor().getValue0(), end.getColor().getValue1(), end.getColor().getValue2()});
+        start.getRed(), start.getGreen(), start.getBlue(),
+        end.getRed(), end.getGreen(), end.getBlue()});
     return args;
   }
 
@@ -100,12 +99,12 @@ public abstract class SvgAbstractShape {
   public String svgCreate(IShape shape, IDirection direction) {
     Pair<Integer, Integer> finalCoord =
         coordinateTypeHelper(shape, false, true);
-    Triplet<Integer, Integer, Integer> finalColor = shape.getColor();
+    int finalColor = shape.getRgb();
     String visibility = direction.getStartFrame() == 0 ? "visible" : "hidden";
     return this.svgCreate(shape, finalCoord, finalColor, visibility);
   }
 
   abstract String svgCreate(IShape shape, Pair<Integer, Integer> finalCoord,
-      Triplet<Integer, Integer, Integer> finalColor, String visibility);
+      int finalColor, String visibility);
 
 }
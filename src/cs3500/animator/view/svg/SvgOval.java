@@ -3,8 +3,8 @@ package cs3500.animator.view.svg;
 import java.util.Map;
 import java.util.function.Function;
 import model.shape.IShape;
+import model.utils.ColorUtils;
 import model.utils.Pair;
-import model.utils.Triplet;
 
 /**
  * Class for handling the SVG methods for the oval shape. Involves mapping the ellipse attributes to
@@ -39,12 +39,12 @@ public class SvgOval extends SvgAbstractShape {
 
   @Override
   public String svgCreate(IShape shape, Pair<Integer, Integer> finalCoord,
-      Triplet<Integer, Integer, Integer> finalColor, String visibility) {
+      int finalColor, String visibility) {
     return String.format(
         "<ellipse id=\"%s\" cx=\"%s\" cy=\"%s\" rx=\"%s\" ry=\"%s\" "
             + "visibility=\"%s\" style=\"fill:rgb(%s %s %s)\">\n",
         shape.getName(), finalCoord.getValue0(), finalCoord.getValue1(),
         half.apply(shape.getWidth()), half.apply(shape.getHeight()), visibility,
-        finalColor.getValue0(), finalColor.getValue1(), finalColor.getValue2());
+        ColorUtils.red(finalColor), ColorUtils.green(finalColor), ColorUtils.blue(finalColor));
   }
 }
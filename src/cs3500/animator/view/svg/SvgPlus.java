@@ -2,13 +2,12 @@ package cs3500.animator.view.svg;
 import java.util.Map;
 import model.shape.IShape;
 import model.utils.Pair;
-import model.utils.Triplet;
 
 public class SvgPlus extends SvgAbstractShape {
 
   @Override
   public String svgCreate(IShape shape, Pair<Integer, Integer> finalCoord,
-      Triplet<Integer, Integer, Integer> finalColor, String visibility) {
+      int finalColor, String visibility) {
     return new SvgRectangle().svgCreate(shape, finalCoord, finalColor, visibility);
   }
 
@@ -2,8 +2,8 @@ package cs3500.animator.view.svg;
 
 import java.util.Map;
 import model.shape.IShape;
+import model.utils.ColorUtils;
 import model.utils.Pair;
-import model.utils.Triplet;
 
 /**
  * Class for handling the SVG methods for the oval shape. Involves mapping the rectangles attributes
@@ -34,12 +34,12 @@ public class SvgRectangle extends SvgAbstractShape {
 
   @Override
   public String svgCreate(IShape shape, Pair<Integer, Integer> finalCoord,
-      Triplet<Integer, Integer, Integer> finalColor, String visibility) {
+      int finalColor, String visibility) {
     return String.format(
         "<rect id=\"%s\" x=\"%s\" y=\"%s\" width=\"%s\" height=\"%s\" "
             + "visibility=\"%s\" style=\"fill:rgb(%s %s %s)\">\n",
         shape.getName(), finalCoord.getValue0(), finalCoord.getValue1(),
         shape.getWidth(), shape.getHeight(), visibility,
-        finalColor.getValue0(), finalColor.getValue1(), finalColor.getValue2());
+        ColorUtils.red(finalColor), ColorUtils.green(finalColor), ColorUtils.blue(finalColor));
   }
 }
@@ -8,6 +8,7 @@ import java.util.Objects;
 import model.ISimpleAnimationModel;
 import model.direction.IDirection;
 import model.shape.IShape;
+import model.shape.ShapeState;
 
 /**
  * The class for implementing SVG view. The main methods are toString and render. the methods all
@@ -55,14 +56,14 @@ public class SvgView implements IView {
 
     model.initializeAnimation();
 
-    Map<String, List<IDirection>> directions = model.getDirections();
-    List<IShape> shapes = model.getShapes();
+    List<ShapeState> shapes = model.getShapeStates();
     StringBuilder builder = new StringBuilder();
 
     builder.append(String.format("<svg width=\"%s\" height=\"%s\">\n", width, height));
 
-    for (IShape shape : shapes) {
-      builder.append(svgShapeHelper(shape.getName(), directions.get(shape.getName())));
+    for (ShapeState shape : shapes) {
+      builder.append(svgShapeHelper(shape.getName(),
+          model.getDirectionsForShape(shape.getName())));
     }
 
     builder.append("</svg>");
@@ -128,7 +129,7 @@ public class SvgView implements IView {
 
     if (directions.size() > 0) {
       String endTag = Objects.requireNonNull(SvgUtils.getEndTags()
-          .get(model.getShape(shapeName).getShapeType()));
+          .get(model.getShapeState(shapeName).getShapeType()));
       builder.append(endTag);
     }
     return builder.toString();
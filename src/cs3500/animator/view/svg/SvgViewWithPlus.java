@@ -9,7 +9,6 @@ import model.direction.IDirection;
 import model.shape.CoordinateType;
 import model.shape.IShape;
 import model.shape.Rectangle;
-import model.utils.Triplet;
 
 public class SvgViewWithPlus extends SvgView {
   private boolean vertical;
@@ -25,7 +24,7 @@ public class SvgViewWithPlus extends SvgView {
   @Override
   protected String svgShapeHelper(String shapeName, List<IDirection> directions) {
     vertical = true;
-    String str = !model.getShape(shapeName).getShapeType().equals("PLUS") ?
+    String str = !model.getShapeState(shapeName).getShapeType().equals("PLUS") ?
         "" : super.svgShapeHelper(shapeName, directions);
     vertical = false;
     return str + super.svgShapeHelper(shapeName, directions);
@@ -34,7 +33,7 @@ public class SvgViewWithPlus extends SvgView {
   @Override
   protected String svgDirectionHelper(String shapeName, IDirection direction) {
     StringBuilder s = new StringBuilder(super.svgDirectionHelper(shapeName, direction));
-    if (model.getShape(shapeName).getShapeType().equals("PLUS") &&
+    if (model.getShapeState(shapeName).getShapeType().equals("PLUS") &&
         direction.getType().equals("RESIZE")) {
       IShape startShape = getShape(model, shapeName, direction.getStartFrame() - 1);
       IShape endShape = getShape(model, shapeName, direction.getEndFrame() - 1);
@@ -50,14 +49,13 @@ public class SvgViewWithPlus extends SvgView {
 
   @Override
   protected IShape getShape(ISimpleAnimationModel model, String shapeName, int frame) {
-    if (!model.getShape(shapeName).getShapeType().equals("PLUS")) {
+    if (!model.getShapeState(shapeName).getShapeType().equals("PLUS")) {
       return super.getShape(model, shapeName, frame);
     }
     IShape s = model.getShapeAtFrame(shapeName, frame);
     Rectangle r = new Rectangle(shapeName + " " + vertical);
-    Triplet<Integer, Integer, Integer> col = s.getColor();
     r.create(s.getX(), s.getY(), width.apply(s.getWidth()), height.apply(s.getWidth()),
-        CoordinateType.CENTER, col.getValue0(), col.getValue1(), col.getValue2());
+        CoordinateType.CENTER, s.getRed(), s.getGreen(), s.getBlue());
     return r;
   }
 }
@@ -5,7 +5,7 @@ import java.util.List;
 import java.util.Map;
 import model.ISimpleAnimationModel;
 import model.direction.IDirection;
-import model.shape.IShape;
+import model.shape.ShapeState;
 
 /**
  * A view to display the user inputs as a log.
@@ -39,7 +39,7 @@ public class TextualView implements ITextualView {
       throw new IllegalStateException("View is not initialized.");
     }
 
-    if (model.getShapes().size() == 0) {
+    if (model.getShapeStates().size() == 0) {
       return "There are no shapes to display.\n";
     }
     Map<String, List<IDirection>> directions = model.getDirections();
@@ -51,12 +51,12 @@ public class TextualView implements ITextualView {
         + "# (r,g,b) == color (with values between 0 and 255)\n"
         + "#                  start                           end");
 
-    for (IShape shape : model.getShapes()) {
+    for (ShapeState shape : model.getShapeStates()) {
       String shapeName = shape.getName();
 
       builder.append("\n");
       builder.append("shape ").append(shapeName).append(" ")
-          .append(model.getShape(shapeName).getShapeType()).append("\n")
+          .append(shape.getShapeType()).append("\n")
           .append("#          st   x   y   w   h   r   g   b")
           .append("   et   x   y   w   h   r   g   b\n");
       List<IDirection> shapeDirections = directions.get(shapeName);
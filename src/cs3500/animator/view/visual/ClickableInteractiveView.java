@@ -1,6 +1,8 @@
 package cs3500.animator.view.visual;
 
 import cs3500.animator.controller.ViewListener;
+import java.awt.Rectangle;
+import java.util.List;
 import model.ISimpleAnimationModel;
 
 /**
@@ -47,6 +49,26 @@ public class ClickableInteractiveView implements InteractiveAnimationNotifier {
     thisView.speedBar.setValue(i);
   }
 
+  /**
+   * Finds the shapes a click on the canvas would land on.
+   *
+   * @param x The x coordinate of the click on the canvas.
+   * @param y The y coordinate of the click on the canvas.
+   * @return The names of the shapes under the click, from the one on top down.
+   */
+  public List<String> clickCanvas(int x, int y) {
+    return thisView.drawingPanel.getShapesAt(x, y);
+  }
+
+  /**
+   * Finds the shapes that are drawn inside an area of the canvas.
+   *
+   * @param area The area of the canvas, such as the part scrolled into view.
+   * @return The names of the shapes touching the area, in the order they are drawn.
+   */
+  public List<String> getShapesIn(Rectangle area) {
+    return thisView.drawingPanel.getShapesIn(area);
+  }
 
 
   @Override
@@ -3,20 +3,29 @@ package cs3500.animator.view.visual;
 import java.awt.Color;
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 import javax.swing.JPanel;
+import model.ShapeChange;
 import model.shape.IShape;
+import model.shape.ShapeState;
 
 /**
  * The canvas of the animation. Where we add all of our shapes in order to create an animation.
  */
 public class DrawingPanel extends JPanel {
 
+  private static final int INDEX_CELL_SIZE = 64;
+
   private final List<IShape> shapes;
+  private final SpatialIndex spatialIndex;
   private final int width;
   private final int height;
   private boolean outlineMode;
+  private boolean fullRepaintNeeded;
 
   /**
    * Creates a drawing panel of size width,height that allows for the visualization of our shapes
@@ -30,9 +39,11 @@ public class DrawingPanel extends JPanel {
     this.width = width;
     this.height = height;
     outlineMode = false;
+    fullRepaintNeeded = true;
 
     setBackground(new Color(255, 255, 255));
     shapes = new ArrayList<>();
+    spatialIndex = new SpatialIndex(INDEX_CELL_SIZE);
   }
 
 
@@ -44,12 +55,18 @@ public class DrawingPanel extends JPanel {
   @Override
   protected void paintComponent(Graphics g) {
     super.paintComponent(g);
+    Rectangle clip = g.getClipBounds();
+    Set<String> inClip = clip == null ? null
+        : new HashSet<>(spatialIndex.getShapesIntersecting(clip));
 
     for (IShape shp : shapes) {
-      g.setColor(new Color(
-          shp.getColor().getValue0(),
-          shp.getColor().getValue1(),
-          shp.getColor().getValue2()));
+      // The index only holds the shapes that are drawn, so the rest are checked by hand.
+      if (clip != null && (shp.isVisible() ? !inClip.contains(shp.getName())
+          : !clip.intersects(VisualViewUtils.bounds(shp.getShapeType(),
+              shp.getX(), shp.getY(), shp.getWidth(), shp.getHeight())))) {
+        continue;
+      }
+      g.setColor(new Color(shp.getRgb()));
       try {
         String str = outlineMode ? " OUTLINE" : "";
         VisualViewUtils.fillCommands(shp.getX(), shp.getY(), shp.getWidth(), shp.getHeight())
@@ -69,11 +86,74 @@ public class DrawingPanel extends JPanel {
     this.shapes.addAll(shapes);
   }
 
+  /**
+   * Repaints only the areas of the canvas that the given changes touch: where each shape was and
+   * where it is now. Everything is repainted instead the first time, and after anything that
+   * changes how every shape is drawn.
+   * @param changes The shapes that changed since the last frame was drawn.
+   */
+  public void repaintChanges(List<ShapeChange> changes) {
+    spatialIndex.update(changes);
+
+    if (fullRepaintNeeded) {
+      fullRepaintNeeded = false;
+      repaint();
+      return;
+    }
+
+    for (ShapeChange change : changes) {
+      repaintState(change.getPreviousState());
+      repaintState(change.getNewState());
+    }
+  }
+
+  /**
+   * Repaints the whole canvas for a frame that doesn't follow the one drawn last, such as after
+   * seeking, starting over the index of where every shape is from that frame's shapes.
+   * @param states The state of every shape on the frame.
+   */
+  public void repaintAll(List<ShapeState> states) {
+    spatialIndex.rebuild(states);
+    repaint();
+  }
+
+  /**
+   * Gets the shapes drawn over a point of the canvas, from the one on top down.
+   * @param x The x coordinate of the point.
+   * @param y The y coordinate of the point.
+   * @return The names of the shapes covering the point.
+   */
+  public List<String> getShapesAt(int x, int y) {
+    return spatialIndex.getShapesAt(x, y);
+  }
+
+  /**
+   * Gets the shapes drawn anywhere inside an area of the canvas, such as the part that is
+   * scrolled into view, in the order they are drawn.
+   * @param area The area to look in.
+   * @return The names of the shapes touching the area.
+   */
+  public List<String> getShapesIn(Rectangle area) {
+    return spatialIndex.getShapesIntersecting(area);
+  }
+
+  /**
+   * Repaints the area a shape covers in a state, if it is drawn at all.
+   * @param state The state of the shape, or null if it isn't in the animation.
+   */
+  private void repaintState(ShapeState state) {
+    if (state != null && state.isVisible()) {
+      repaint(VisualViewUtils.bounds(state.getShapeType(),
+          state.getX(), state.getY(), state.getWidth(), state.getHeight()));
+    }
+  }
+
   /**
    * Toggles whether it should be in view mode or outline mode.
    */
   public void toggleOutline() {
     outlineMode = !outlineMode;
+    fullRepaintNeeded = true;
   }
 
   /**
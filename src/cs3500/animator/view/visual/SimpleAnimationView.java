@@ -19,6 +19,7 @@ public class SimpleAnimationView extends JFrame implements IView {
 
   protected DrawingPanel drawingPanel;
   protected boolean initialized;
+  private int lastRenderedFrame = -1;
 
   /**
    * Creates an instance of this view that preps the window for drawing.
@@ -55,8 +56,16 @@ public class SimpleAnimationView extends JFrame implements IView {
       throw new IllegalStateException("View is not initialized.");
     }
 
+    int frame = model.getCurrentFrame();
     drawingPanel.drawShapes(model.getShapesAtCurrentFrame());
-    repaint();
+
+    // Playing on to the next frame only needs what changed repainted; any jump needs everything.
+    if (frame == lastRenderedFrame + 1) {
+      drawingPanel.repaintChanges(model.getChangesAtFrame(frame));
+    } else {
+      drawingPanel.repaintAll(model.getShapeStatesAtFrame(frame));
+    }
+    lastRenderedFrame = frame;
   }
 
 
@@ -0,0 +1,224 @@
+package cs3500.animator.view.visual;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+import model.ShapeChange;
+import model.shape.ShapeState;
+
+/**
+ * Where every drawn shape is on the canvas for a single frame, kept in a uniform grid of square
+ * cells. Each shape is listed in every cell its bounds touch, so finding the shapes under a point
+ * or inside an area only looks at the shapes in the cells that point or area touches instead of
+ * every shape on the canvas. Going on to the next frame only moves the shapes that changed.
+ */
+public final class SpatialIndex {
+
+  private final int cellSize;
+  private final Map<Long, Set<String>> cells;
+  private final Map<String, Rectangle> bounds;
+  private final Map<String, Integer> drawOrder;
+  private int nextDrawOrder;
+
+  /**
+   * Creates an empty index.
+   *
+   * @param cellSize The width and height of each cell of the grid.
+   * @throws IllegalArgumentException If the cell size is less than 1.
+   */
+  public SpatialIndex(int cellSize) throws IllegalArgumentException {
+    if (cellSize < 1) {
+      throw new IllegalArgumentException("Cell size must be positive.");
+    }
+
+    this.cellSize = cellSize;
+    this.cells = new HashMap<>();
+    this.bounds = new HashMap<>();
+    this.drawOrder = new HashMap<>();
+  }
+
+  /**
+   * Throws away everything in the index and fills it with the shapes on a frame. The shapes are
+   * drawn in the order they are given in, which is also the order every query answers in.
+   *
+   * @param states The state of every shape on the frame, drawn or not.
+   */
+  public void rebuild(List<ShapeState> states) {
+    this.cells.clear();
+    this.bounds.clear();
+    this.drawOrder.clear();
+    this.nextDrawOrder = 0;
+
+    for (ShapeState state : states) {
+      this.drawOrder.put(state.getName(), this.nextDrawOrder++);
+      this.add(state);
+    }
+  }
+
+  /**
+   * Moves the shapes that changed going on to the next frame. Shapes that weren't seen before are
+   * drawn after every shape that was.
+   *
+   * @param changes The shapes that changed since the frame the index holds.
+   */
+  public void update(List<ShapeChange> changes) {
+    for (ShapeChange change : changes) {
+      this.remove(change.getName());
+
+      if (change.getNewState() == null) {
+        this.drawOrder.remove(change.getName());
+        continue;
+      }
+
+      if (!this.drawOrder.containsKey(change.getName())) {
+        this.drawOrder.put(change.getName(), this.nextDrawOrder++);
+      }
+      this.add(change.getNewState());
+    }
+  }
+
+  /**
+   * Gets the shapes drawn over a point, from the one on top down.
+   *
+   * @param x The x coordinate of the point.
+   * @param y The y coordinate of the point.
+   * @return The names of the shapes covering the point.
+   */
+  public List<String> getShapesAt(int x, int y) {
+    List<String> found = new ArrayList<>();
+    Set<String> cell = this.cells.get(this.cellKey(this.cellOf(x), this.cellOf(y)));
+
+    if (cell != null) {
+      for (String name : cell) {
+        if (this.bounds.get(name).contains(x, y)) {
+          found.add(name);
+        }
+      }
+    }
+
+    found.sort(Comparator.comparing((String name) -> this.drawOrder.get(name)).reversed());
+    return found;
+  }
+
+  /**
+   * Gets the shapes drawn anywhere inside an area, in the order they are drawn.
+   *
+   * @param area The area to look in.
+   * @return The names of the shapes touching the area.
+   */
+  public List<String> getShapesIntersecting(Rectangle area) {
+    Set<String> found = new LinkedHashSet<>();
+
+    if (area.isEmpty()) {
+      return new ArrayList<>();
+    }
+
+    for (int cellX = this.cellOf(area.x); cellX <= this.cellOf(area.x + area.width - 1);
+        cellX++) {
+      for (int cellY = this.cellOf(area.y); cellY <= this.cellOf(area.y + area.height - 1);
+          cellY++) {
+        Set<String> cell = this.cells.get(this.cellKey(cellX, cellY));
+
+        if (cell == null) {
+          continue;
+        }
+
+        for (String name : cell) {
+          if (this.bounds.get(name).intersects(area)) {
+            found.add(name);
+          }
+        }
+      }
+    }
+
+    List<String> ordered = new ArrayList<>(found);
+    ordered.sort(Comparator.comparing(name -> this.drawOrder.get(name)));
+    return ordered;
+  }
+
+  /**
+   * Gets the number of shapes that are drawn on the frame the index holds.
+   *
+   * @return The number of shapes in the index.
+   */
+  public int size() {
+    return this.bounds.size();
+  }
+
+  /**
+   * Puts a shape in every cell its bounds touch, if it is drawn at all.
+   *
+   * @param state The state of the shape.
+   */
+  private void add(ShapeState state) {
+    if (!state.isVisible()) {
+      return;
+    }
+
+    Rectangle area = VisualViewUtils.bounds(state.getShapeType(),
+        state.getX(), state.getY(), state.getWidth(), state.getHeight());
+    this.bounds.put(state.getName(), area);
+    this.forEachCell(area, key -> this.cells.computeIfAbsent(key, k -> new LinkedHashSet<>())
+        .add(state.getName()));
+  }
+
+  /**
+   * Takes a shape out of every cell it is in, if it is in the index.
+   *
+   * @param name The name of the shape.
+   */
+  private void remove(String name) {
+    Rectangle area = this.bounds.remove(name);
+
+    if (area != null) {
+      // Cells that end up empty are dropped, so shapes moving around don't leave a trail of them.
+      this.forEachCell(area, key -> this.cells.computeIfPresent(key, (k, cell) -> {
+        cell.remove(name);
+        return cell.isEmpty() ? null : cell;
+      }));
+    }
+  }
+
+  /**
+   * Runs something on the key of every cell an area touches.
+   *
+   * @param area   The area.
+   * @param action What to run on each key.
+   */
+  private void forEachCell(Rectangle area, LongConsumer action) {
+    for (int cellX = this.cellOf(area.x); cellX <= this.cellOf(area.x + area.width - 1);
+        cellX++) {
+      for (int cellY = this.cellOf(area.y); cellY <= this.cellOf(area.y + area.height - 1);
+          cellY++) {
+        action.accept(this.cellKey(cellX, cellY));
+      }
+    }
+  }
+
+  /**
+   * Works out the column or row of the grid a coordinate falls in.
+   *
+   * @param coordinate The coordinate, which can be negative.
+   * @return The column or row.
+   */
+  private int cellOf(int coordinate) {
+    return Math.floorDiv(coordinate, this.cellSize);
+  }
+
+  /**
+   * Packs the column and row of a cell into a single key.
+   *
+   * @param cellX The column.
+   * @param cellY The row.
+   * @return The key of the cell.
+   */
+  private long cellKey(int cellX, int cellY) {
+    return ((long) cellX << 32) | (cellY & 0xFFFFFFFFL);
+  }
+}
@@ -1,6 +1,7 @@
 package cs3500.animator.view.visual;
 
 import java.awt.Graphics;
+import java.awt.Rectangle;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.function.Consumer;
@@ -38,4 +39,27 @@ public class VisualViewUtils {
             y - h4, y + h4, y + h4, y + h2, y + h2, y + h4}, 12));
     return cmds;
   }
+
+  /**
+   * Works out the area a shape could be drawn in, filled or outlined.
+   * @param shapeType The type of the shape in all uppercase.
+   * @param x The x coordinate of the shape.
+   * @param y The y coordinate of the shape.
+   * @param w The width of the shape.
+   * @param h The height of the shape.
+   * @return The area the shape covers, including the edge of its outline.
+   */
+  static Rectangle bounds(String shapeType, int x, int y, int w, int h) {
+    if (shapeType.equals("PLUS")) {
+      // A plus is drawn around its coordinate, sized by its height the same way fillCommands
+      // draws it, so the area is its outline and both of its bars put together.
+      int h2 = (int) (h * 0.5);
+      int h4 = (int) (h * 0.25);
+      Rectangle area = new Rectangle(x - h2, y - h2, 2 * h2 + 1, 2 * h2 + 1);
+      area.add(new Rectangle(x - h4, y - h2, (int) (w * 0.5), h));
+      area.add(new Rectangle(x - h2, y - h4, w, (int) (h * 0.5)));
+      return area;
+    }
+    return new Rectangle(x, y, w + 1, h + 1);
+  }
 }
@@ -0,0 +1,121 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.List;
+import model.shape.IShape;
+import model.shape.ShapeState;
+
+/**
+ * One reader's place in a compiled animation. Each cursor has its own current frame and its own
+ * cache of rendered frames, so cursors never get in each other's way, but a single cursor isn't
+ * meant to be shared between threads.
+ */
+public final class AnimationCursor {
+
+  private static final int WINDOW_SIZE = 64;
+  private static final int MAX_WINDOWS = 4;
+
+  private final CompiledAnimation animation;
+  private final FrameCache frameCache;
+  private int frame;
+
+  /**
+   * Creates a cursor at the start of an animation.
+   *
+   * @param animation The animation to read.
+   */
+  AnimationCursor(CompiledAnimation animation) {
+    this.animation = animation;
+    this.frameCache = new FrameCache(WINDOW_SIZE, MAX_WINDOWS, animation.getShapeCount(),
+        animation::renderWindow);
+    this.frame = 0;
+  }
+
+  /**
+   * Gets the frame the cursor is on.
+   *
+   * @return The current frame.
+   */
+  public int getFrame() {
+    return this.frame;
+  }
+
+  /**
+   * Moves the cursor on by one frame.
+   */
+  public void advance() {
+    this.frame++;
+  }
+
+  /**
+   * Moves the cursor straight to a frame, forwards or backwards.
+   *
+   * @param frame The frame to move to.
+   * @throws IllegalArgumentException If the frame is negative.
+   */
+  public void seek(int frame) throws IllegalArgumentException {
+    if (frame < 0) {
+      throw new IllegalArgumentException("Frame cannot be negative.");
+    }
+    this.frame = frame;
+  }
+
+  /**
+   * Whether the cursor has gone past the last frame of the animation.
+   *
+   * @return true if there is nothing left to show.
+   */
+  public boolean isFinished() {
+    return this.frame > this.animation.getLastFrame();
+  }
+
+  /**
+   * Gets the state of every shape in the animation on the current frame.
+   *
+   * @return The states, in the order the shapes were added.
+   */
+  public List<ShapeState> getShapeStates() {
+    List<ShapeState> states = new ArrayList<>();
+
+    if (this.isFinished()) {
+      return states;
+    }
+
+    FrameStore window = this.frameCache.getWindow(this.frame);
+
+    for (int i = 0; i < this.animation.getShapeCount(); i++) {
+      ShapeState state = window.getState(i, this.frame);
+
+      if (state != null) {
+        states.add(state);
+      }
+    }
+
+    return states;
+  }
+
+  /**
+   * Gets every shape in the animation on the current frame.
+   *
+   * @return New shapes holding each shape's state, in the order the shapes were added.
+   */
+  public List<IShape> getShapes() {
+    List<IShape> shapes = new ArrayList<>();
+
+    if (this.isFinished()) {
+      return shapes;
+    }
+
+    FrameStore window = this.frameCache.getWindow(this.frame);
+
+    for (int i = 0; i < this.animation.getShapeCount(); i++) {
+      IShape shape = window.getShape(i, this.frame, this.animation.getBlankShape(i));
+
+      if (shape != null) {
+        shapes.add(shape);
+      }
+    }
+
+    return shapes;
+  }
+}
@@ -0,0 +1,126 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import model.ValidationResult.Kind;
+import model.ValidationResult.Problem;
+import model.direction.IDirection;
+
+/**
+ * Checks the directions of an animation's shapes for overlaps and frame gaps. Each shape's
+ * directions are swept once in start order, remembering the direction of each type that ends the
+ * latest so far. A direction that overlaps any earlier one of its type overlaps that one too, so it
+ * is the only one each direction needs to be compared with.
+ */
+final class AnimationValidator {
+
+  private AnimationValidator() {
+  }
+
+  /**
+   * Checks the directions of many shapes.
+   *
+   * @param shapeNames The shapes to check, in the order their problems should be reported.
+   * @param directions The directions of each shape, in the same order as the names, each sorted by
+   *                   start frame.
+   * @param inParallel Whether the shapes should be checked at the same time on separate threads.
+   *                   The result is the same either way.
+   * @return Every problem that was found.
+   */
+  static ValidationResult validate(List<String> shapeNames, List<List<IDirection>> directions,
+      boolean inParallel) {
+    List<ValidationResult> results = (inParallel ? IntStream.range(0, shapeNames.size()).parallel()
+        : IntStream.range(0, shapeNames.size()))
+        .mapToObj(i -> validateShape(shapeNames.get(i), directions.get(i)))
+        .collect(Collectors.toList());
+
+    List<Problem> problems = new ArrayList<>();
+    int lastFrame = 0;
+
+    for (ValidationResult result : results) {
+      problems.addAll(result.getProblems());
+      lastFrame = Math.max(lastFrame, result.getLastFrame());
+    }
+
+    return new ValidationResult(problems, lastFrame);
+  }
+
+  /**
+   * Checks the directions of a single shape. A create overlaps anything after it that starts on or
+   * before its end, while any other direction overlaps a later direction of its own type if that
+   * direction starts before it ends. A create is reported once for each direction it overlaps, and
+   * any other direction once if it overlaps an earlier one, against the earlier one that ends the
+   * latest. Overlaps are reported first, followed by any gap between two directions next to each
+   * other.
+   *
+   * @param shapeName       The name of the shape.
+   * @param shapeDirections The directions of the shape, sorted by start frame.
+   * @return Every problem that was found.
+   */
+  static ValidationResult validateShape(String shapeName, List<IDirection> shapeDirections) {
+    int count = shapeDirections.size();
+    List<Problem> overlaps = new ArrayList<>();
+    List<Integer> overlapsFrom = new ArrayList<>();
+    Map<String, Integer> latestEndOfType = new HashMap<>();
+    int lastFrame = 0;
+
+    for (int i = 0; i < count; i++) {
+      IDirection direction = shapeDirections.get(i);
+      String type = direction.getType();
+      lastFrame = Math.max(lastFrame, direction.getEndFrame());
+
+      if (type.equals("CREATE")) {
+        // Directions are sorted by start, so the ones it overlaps all come right after it.
+        for (int j = i + 1; j < count
+            && shapeDirections.get(j).getStartFrame() <= direction.getEndFrame(); j++) {
+          IDirection next = shapeDirections.get(j);
+          overlaps.add(new Problem(Kind.OVERLAP, shapeName, type, next.getStartFrame(),
+              Math.min(direction.getEndFrame(), next.getEndFrame())));
+          overlapsFrom.add(i);
+        }
+        continue;
+      }
+
+      Integer previousIndex = latestEndOfType.get(type);
+
+      if (previousIndex == null) {
+        latestEndOfType.put(type, i);
+        continue;
+      }
+
+      IDirection previous = shapeDirections.get(previousIndex);
+
+      if (direction.getStartFrame() < previous.getEndFrame()) {
+        overlaps.add(new Problem(Kind.OVERLAP, shapeName, type, direction.getStartFrame(),
+            Math.min(previous.getEndFrame(), direction.getEndFrame())));
+        overlapsFrom.add(previousIndex);
+      }
+      if (direction.getEndFrame() > previous.getEndFrame()) {
+        latestEndOfType.put(type, i);
+      }
+    }
+
+    // Overlaps are reported in the order of the earlier direction of each pair, so the first one
+    // is the same one that comparing every pair in order would find first.
+    List<Problem> problems = IntStream.range(0, overlaps.size()).boxed()
+        .sorted(Comparator.comparing(overlapsFrom::get))
+        .map(overlaps::get)
+        .collect(Collectors.toList());
+
+    for (int i = 0; i < count - 1; i++) {
+      int end = shapeDirections.get(i).getEndFrame();
+      int nextStart = shapeDirections.get(i + 1).getStartFrame();
+
+      if (end < nextStart - 1) {
+        problems.add(new Problem(Kind.GAP, shapeName, null, end + 1, nextStart - 1));
+      }
+    }
+
+    return new ValidationResult(problems, lastFrame);
+  }
+}
@@ -0,0 +1,151 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import model.direction.IDirection;
+import model.shape.IShape;
+
+/**
+ * An initialized animation frozen into a form that can be read by many threads at once without
+ * locking. Everything in it is built when it is made and never changes afterwards: each shape gets
+ * its own copies of its directions, and every direction works out its per-frame changes while the
+ * shape's timeline is built, so nothing is left to be filled in lazily later. Changing the model
+ * afterwards doesn't change an animation that was already compiled.
+ *
+ * <p>Nothing here keeps track of a current frame. Each reader instead gets its own
+ * AnimationCursor, so two views can play the same animation at different speeds, or one can export
+ * it while another plays it, without racing over a shared frame counter.</p>
+ */
+public final class CompiledAnimation {
+
+  private final List<String> shapeNames;
+  private final IShape[] blankShapes;
+  private final ShapeTimeline[] timelines;
+  private final int[] removalFrames;
+  private final int lastFrame;
+
+  /**
+   * Compiles an animation.
+   *
+   * @param shapes           The shapes of the animation, in the order they were added.
+   * @param sortedDirections The directions of each shape, sorted by start frame, in the same order
+   *                         as the shapes. They are copied, not kept.
+   * @param removalFrames    The frame each shape is removed on, or -1 if it never is, in the same
+   *                         order as the shapes.
+   * @param lastFrame        The last frame of the animation.
+   */
+  CompiledAnimation(List<IShape> shapes, List<List<IDirection>> sortedDirections,
+      int[] removalFrames, int lastFrame) {
+    List<String> names = new ArrayList<>();
+    this.blankShapes = new IShape[shapes.size()];
+    this.timelines = new ShapeTimeline[shapes.size()];
+    this.removalFrames = removalFrames.clone();
+    this.lastFrame = lastFrame;
+
+    for (int i = 0; i < shapes.size(); i++) {
+      IShape shape = shapes.get(i);
+      IShape blankShape = ModelUtil.getKnownShapes(shape.getName())
+          .get(shape.getShapeType().toLowerCase());
+      List<IDirection> copies = new ArrayList<>();
+
+      for (IDirection direction : sortedDirections.get(i)) {
+        copies.add(direction.getCopy(blankShape.getCopy()));
+      }
+
+      names.add(shape.getName());
+      this.blankShapes[i] = blankShape;
+      this.timelines[i] = new ShapeTimeline(blankShape, copies);
+    }
+
+    this.shapeNames = Collections.unmodifiableList(names);
+  }
+
+  /**
+   * Estimates how much memory the compiled animation takes, including its own copies of every
+   * shape and direction.
+   *
+   * @return The size of the compiled animation in bytes.
+   */
+  long getFootprint() {
+    long footprint = Footprints.OBJECT_HEADER + Footprints.intArray(this.removalFrames.length)
+        + this.blankShapes.length * Footprints.SHAPE;
+
+    for (ShapeTimeline timeline : this.timelines) {
+      footprint += timeline.getFootprint() + timeline.getDirectionCount() * Footprints.DIRECTION;
+    }
+
+    return footprint;
+  }
+
+  /**
+   * Gets the names of the shapes in the animation, in the order they were added. A shape's index
+   * in this list is the order it is given in by every cursor.
+   *
+   * @return The names of the shapes.
+   */
+  public List<String> getShapeNames() {
+    return this.shapeNames;
+  }
+
+  /**
+   * Gets the last frame of the animation.
+   *
+   * @return The last frame.
+   */
+  public int getLastFrame() {
+    return this.lastFrame;
+  }
+
+  /**
+   * Makes a new cursor at the start of the animation. A cursor keeps its own frame and its own
+   * cache of rendered frames, so it should only be used by one thread, but any number of cursors
+   * can read the same animation at the same time.
+   *
+   * @return A new cursor on frame 0.
+   */
+  public AnimationCursor newCursor() {
+    return new AnimationCursor(this);
+  }
+
+  /**
+   * Gets the number of shapes in the animation.
+   *
+   * @return The number of shapes.
+   */
+  int getShapeCount() {
+    return this.blankShapes.length;
+  }
+
+  /**
+   * Gets a shape of the right name and type that hasn't been created yet.
+   *
+   * @param shapeIndex The index of the shape.
+   * @return The blank shape, which must not be changed.
+   */
+  IShape getBlankShape(int shapeIndex) {
+    return this.blankShapes[shapeIndex];
+  }
+
+  /**
+   * Fills a frame store with every shape on every frame it holds. Only reads the animation, so
+   * any number of threads can render at the same time as long as each has its own store.
+   *
+   * @param store      The store to fill.
+   * @param firstFrame The first frame the store holds.
+   * @param frameCount How many frames the store holds.
+   */
+  void renderWindow(FrameStore store, int firstFrame, int frameCount) {
+    for (int i = 0; i < this.timelines.length; i++) {
+      int last = Math.min(this.lastFrame, firstFrame + frameCount - 1);
+
+      if (this.removalFrames[i] >= 0) {
+        last = Math.min(last, this.removalFrames[i] - 1);
+      }
+
+      for (int frame = firstFrame; frame <= last; frame++) {
+        store.put(i, frame, this.timelines[i].getShapeAtFrame(frame));
+      }
+    }
+  }
+}
@@ -0,0 +1,149 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import model.direction.IDirection;
+
+/**
+ * An interval tree over a set of directions, used to find the directions that are running on a
+ * frame without looking at every direction. The tree is kept implicitly in an array of the
+ * directions sorted by start frame: the middle of any range of the array is the root of that
+ * range's subtree, and each root remembers the latest end frame of anything below it, so whole
+ * subtrees that ended before a frame can be skipped.
+ */
+final class DirectionIndex {
+
+  private final IDirection[] directions;
+  private final int[] maxEnds;
+  private final List<Integer> boundaries;
+
+  /**
+   * Builds the index. The given directions are left untouched.
+   *
+   * @param directions The directions to index.
+   */
+  DirectionIndex(Collection<IDirection> directions) {
+    List<IDirection> sorted = new ArrayList<>(directions);
+    Collections.sort(sorted);
+
+    this.directions = sorted.toArray(new IDirection[0]);
+    this.maxEnds = new int[this.directions.length];
+    this.buildMaxEnds(0, this.directions.length);
+
+    List<Integer> frames = new ArrayList<>();
+    for (IDirection direction : this.directions) {
+      frames.add(direction.getStartFrame());
+      frames.add(direction.getEndFrame());
+    }
+    Collections.sort(frames);
+
+    this.boundaries = new ArrayList<>();
+    for (int frame : frames) {
+      if (this.boundaries.isEmpty() || this.boundaries.get(this.boundaries.size() - 1) != frame) {
+        this.boundaries.add(frame);
+      }
+    }
+  }
+
+  /**
+   * Gets the directions running on a frame, which are those that start on or before it and end on
+   * or after it.
+   *
+   * @param frame The frame.
+   * @return The running directions, sorted by start frame.
+   */
+  List<IDirection> getDirectionsAt(int frame) {
+    return this.getDirectionsBetween(frame, frame);
+  }
+
+  /**
+   * Gets the directions running on any frame of a range.
+   *
+   * @param fromFrame The first frame of the range.
+   * @param toFrame   The last frame of the range.
+   * @return The running directions, sorted by start frame.
+   */
+  List<IDirection> getDirectionsBetween(int fromFrame, int toFrame) {
+    List<IDirection> found = new ArrayList<>();
+    this.collect(0, this.directions.length, fromFrame, toFrame, found);
+    return found;
+  }
+
+  /**
+   * Gets every frame that a direction starts or ends on.
+   *
+   * @return The frames, sorted and without repeats.
+   */
+  List<Integer> getBoundaries() {
+    return new ArrayList<>(this.boundaries);
+  }
+
+  /**
+   * Gets how many directions are in the index.
+   *
+   * @return The number of directions.
+   */
+  int size() {
+    return this.directions.length;
+  }
+
+  /**
+   * Works out the latest end frame of every subtree in the given range of the array.
+   *
+   * @param low  The first index of the range.
+   * @param high One past the last index of the range.
+   * @return The latest end frame in the range, or Integer.MIN_VALUE if it's empty.
+   */
+  private int buildMaxEnds(int low, int high) {
+    if (low >= high) {
+      return Integer.MIN_VALUE;
+    }
+
+    int middle = (low + high) >>> 1;
+    int maxEnd = Math.max(this.directions[middle].getEndFrame(),
+        Math.max(this.buildMaxEnds(low, middle), this.buildMaxEnds(middle + 1, high)));
+
+    this.maxEnds[middle] = maxEnd;
+    return maxEnd;
+  }
+
+  /**
+   * Adds the directions in a range of the array that run on any frame of a range of frames, in
+   * the order they are in the array.
+   *
+   * @param low       The first index of the range.
+   * @param high      One past the last index of the range.
+   * @param fromFrame The first frame.
+   * @param toFrame   The last frame.
+   * @param found     Where the directions are added.
+   */
+  private void collect(int low, int high, int fromFrame, int toFrame, List<IDirection> found) {
+    if (low >= high) {
+      return;
+    }
+
+    int middle = (low + high) >>> 1;
+
+    // Nothing in this subtree runs that late.
+    if (this.maxEnds[middle] < fromFrame) {
+      return;
+    }
+
+    this.collect(low, middle, fromFrame, toFrame, found);
+
+    IDirection direction = this.directions[middle];
+
+    // Everything after this one starts even later.
+    if (direction.getStartFrame() > toFrame) {
+      return;
+    }
+
+    if (direction.getEndFrame() >= fromFrame) {
+      found.add(direction);
+    }
+
+    this.collect(middle + 1, high, fromFrame, toFrame, found);
+  }
+}
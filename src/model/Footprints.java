@@ -0,0 +1,51 @@
+package model;
+
+/**
+ * Rough sizes, in bytes, of the things a model keeps in memory. The JVM doesn't say how big an
+ * object really is, so these are estimates for a 64-bit JVM, rounded up so that a model's reported
+ * footprint errs on the side of being too big rather than too small.
+ */
+final class Footprints {
+
+  static final long OBJECT_HEADER = 16;
+  static final long REFERENCE = 8;
+  static final long INT = 4;
+
+  /**
+   * A shape: its name and type, the ints of its position, size and color, and its flags.
+   */
+  static final long SHAPE = 96;
+
+  /**
+   * A shape state, which holds the same values as a shape but can't change.
+   */
+  static final long STATE = 72;
+
+  /**
+   * A direction along with its sub-command table.
+   */
+  static final long DIRECTION = 112;
+
+  private Footprints() {
+  }
+
+  /**
+   * Estimates the size of an array of ints.
+   *
+   * @param length The length of the array.
+   * @return The size in bytes.
+   */
+  static long intArray(long length) {
+    return OBJECT_HEADER + INT * length;
+  }
+
+  /**
+   * Estimates the size of an array of references, not counting the objects they point to.
+   *
+   * @param length The length of the array.
+   * @return The size in bytes.
+   */
+  static long referenceArray(long length) {
+    return OBJECT_HEADER + REFERENCE * length;
+  }
+}
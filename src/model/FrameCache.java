@@ -0,0 +1,209 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Keeps rendered frames in fixed-size windows that are only rendered when a frame inside of them
+ * is first asked for. Only a set number of windows are kept at a time; once that number is reached,
+ * the window that was used least recently is thrown away to make room for the new one.
+ *
+ * <p>The cache can also be given a memory budget. Windows are thrown away in the same order to
+ * stay within it, and once not even a single window fits, frames are rendered one at a time
+ * whenever they are asked for and aren't cached at all.</p>
+ */
+final class FrameCache {
+
+  /**
+   * Renders the frames of a window into a store.
+   */
+  interface WindowRenderer {
+
+    /**
+     * Renders every shape on every frame the given store holds.
+     *
+     * @param store      The store to render into.
+     * @param firstFrame The first frame the store holds.
+     * @param frameCount How many frames the store holds.
+     */
+    void render(FrameStore store, int firstFrame, int frameCount);
+  }
+
+  private final int windowSize;
+  private final int maxWindows;
+  private final int shapeCount;
+  private final WindowRenderer renderer;
+  private final Map<Integer, FrameStore> windows;
+  private final Map<Integer, Long> footprints;
+  private long memoryBudget;
+  private long cachedBytes;
+
+  private long hits;
+  private long misses;
+  private long evictions;
+  private long uncachedRenders;
+
+  /**
+   * Sets up an empty cache.
+   *
+   * @param windowSize How many frames each window holds.
+   * @param maxWindows How many windows can be kept at once.
+   * @param shapeCount How many shapes are rendered on each frame.
+   * @param renderer   What renders a window when it is missing.
+   * @throws IllegalArgumentException If the window size or count is less than 1.
+   */
+  FrameCache(int windowSize, int maxWindows, int shapeCount, WindowRenderer renderer)
+      throws IllegalArgumentException {
+    if (windowSize < 1 || maxWindows < 1) {
+      throw new IllegalArgumentException("Frame cache windows must hold at least one frame.");
+    }
+
+    this.windowSize = windowSize;
+    this.maxWindows = maxWindows;
+    this.shapeCount = shapeCount;
+    this.renderer = renderer;
+
+    this.memoryBudget = Long.MAX_VALUE;
+
+    // Access ordered, so the first entry is always the least recently used window.
+    this.windows = new LinkedHashMap<>(16, 0.75f, true);
+    this.footprints = new HashMap<>();
+  }
+
+  /**
+   * Sets how many bytes the cached windows may take up between them, throwing away windows right
+   * away if they take up more than that.
+   *
+   * @param memoryBudget The budget in bytes, which cannot be negative.
+   */
+  void setMemoryBudget(long memoryBudget) {
+    this.memoryBudget = memoryBudget;
+    this.evictUntil(this.windows.size(), 0);
+  }
+
+  /**
+   * Gets the window holding a frame, rendering it first if it isn't cached.
+   *
+   * @param frame The frame, which cannot be negative.
+   * @return The store holding that frame.
+   */
+  FrameStore getWindow(int frame) {
+    int windowIndex = frame / this.windowSize;
+    FrameStore window = this.windows.get(windowIndex);
+
+    if (window != null) {
+      this.hits++;
+      return window;
+    }
+
+    this.misses++;
+    int firstFrame = windowIndex * this.windowSize;
+
+    if (FrameStore.estimateEmptyFootprint(this.shapeCount, this.windowSize) > this.memoryBudget) {
+      return this.renderUncached(frame);
+    }
+
+    window = new FrameStore(this.shapeCount, firstFrame, this.windowSize);
+    this.renderer.render(window, firstFrame, this.windowSize);
+    long footprint = window.getFootprint();
+
+    // Once rendered, a window that can't fit is still handed back; it just isn't kept.
+    if (footprint > this.memoryBudget) {
+      this.uncachedRenders++;
+      return window;
+    }
+
+    this.evictUntil(this.maxWindows - 1, footprint);
+    this.windows.put(windowIndex, window);
+    this.footprints.put(windowIndex, footprint);
+    this.cachedBytes += footprint;
+    return window;
+  }
+
+  /**
+   * Renders just one frame into a store of its own, without caching it.
+   *
+   * @param frame The frame.
+   * @return A store holding only that frame.
+   */
+  private FrameStore renderUncached(int frame) {
+    this.uncachedRenders++;
+    FrameStore store = new FrameStore(this.shapeCount, frame, 1);
+    this.renderer.render(store, frame, 1);
+    return store;
+  }
+
+  /**
+   * Throws away the least recently used windows until there are at most the given number of them,
+   * with enough of the memory budget left over for another window of the given size.
+   *
+   * @param windowCount How many windows may be left.
+   * @param room        How many bytes must be left in the budget.
+   */
+  private void evictUntil(int windowCount, long room) {
+    Iterator<Map.Entry<Integer, FrameStore>> eldest = this.windows.entrySet().iterator();
+
+    while (eldest.hasNext()
+        && (this.windows.size() > windowCount || this.cachedBytes > this.memoryBudget - room)) {
+      this.cachedBytes -= this.footprints.remove(eldest.next().getKey());
+      eldest.remove();
+      this.evictions++;
+    }
+  }
+
+  /**
+   * Renders a range of frames again in every cached window that holds part of it, leaving the rest
+   * of each window as it was. Windows that aren't cached are left alone, since they are rendered in
+   * full when they are next asked for anyway.
+   *
+   * @param fromFrame The first frame to render again.
+   * @param toFrame   The last frame to render again.
+   * @param renderer  What renders the frames, which is given only the part of each window that
+   *                  falls in the range.
+   */
+  void rerender(int fromFrame, int toFrame, WindowRenderer renderer) {
+    for (Map.Entry<Integer, FrameStore> entry : this.windows.entrySet()) {
+      int windowFirst = entry.getKey() * this.windowSize;
+      int first = Math.max(fromFrame, windowFirst);
+      int last = Math.min(toFrame, windowFirst + this.windowSize - 1);
+
+      if (first <= last) {
+        renderer.render(entry.getValue(), first, last - first + 1);
+        long footprint = entry.getValue().getFootprint();
+        this.cachedBytes += footprint - this.footprints.put(entry.getKey(), footprint);
+      }
+    }
+
+    this.evictUntil(this.windows.size(), 0);
+  }
+
+  /**
+   * Gets the number of windows that are currently cached.
+   *
+   * @return The number of cached windows.
+   */
+  int getWindowCount() {
+    return this.windows.size();
+  }
+
+  /**
+   * Estimates how much memory the cached windows take up between them.
+   *
+   * @return The size of the cached windows in bytes.
+   */
+  long getFootprint() {
+    return this.cachedBytes;
+  }
+
+  /**
+   * Gets the statistics of how well the cache has been doing so far.
+   *
+   * @return The hit, miss and eviction counts of the cache.
+   */
+  FrameCacheStatistics getStatistics() {
+    return new FrameCacheStatistics(this.hits, this.misses, this.evictions, this.uncachedRenders,
+        this.windows.size(), this.windowSize, this.maxWindows);
+  }
+}
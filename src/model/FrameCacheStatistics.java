@@ -0,0 +1,109 @@
+package model;
+
+/**
+ * A snapshot of how a model's cache of rendered frames has been used. Frames are rendered and
+ * cached in windows of several frames at a time, so every count here is in windows, not frames.
+ */
+public final class FrameCacheStatistics {
+
+  private final long hits;
+  private final long misses;
+  private final long evictions;
+  private final long uncachedRenders;
+  private final int cachedWindows;
+  private final int windowSize;
+  private final int maxWindows;
+
+  /**
+   * Creates a snapshot of the cache's statistics.
+   *
+   * @param hits            How many lookups found their window already rendered.
+   * @param misses          How many lookups had to render their window.
+   * @param evictions       How many windows have been thrown away to make room for others.
+   * @param uncachedRenders How many lookups were rendered without being cached, because they
+   *                        didn't fit in the model's memory budget.
+   * @param cachedWindows   How many windows are cached right now.
+   * @param windowSize      How many frames each window holds.
+   * @param maxWindows      How many windows can be cached at once.
+   */
+  public FrameCacheStatistics(long hits, long misses, long evictions, long uncachedRenders,
+      int cachedWindows, int windowSize, int maxWindows) {
+    this.hits = hits;
+    this.misses = misses;
+    this.evictions = evictions;
+    this.uncachedRenders = uncachedRenders;
+    this.cachedWindows = cachedWindows;
+    this.windowSize = windowSize;
+    this.maxWindows = maxWindows;
+  }
+
+  /**
+   * Gets how many lookups found their window already rendered.
+   *
+   * @return The number of hits.
+   */
+  public long getHits() {
+    return this.hits;
+  }
+
+  /**
+   * Gets how many lookups had to render their window.
+   *
+   * @return The number of misses.
+   */
+  public long getMisses() {
+    return this.misses;
+  }
+
+  /**
+   * Gets how many windows have been thrown away to make room for others.
+   *
+   * @return The number of evictions.
+   */
+  public long getEvictions() {
+    return this.evictions;
+  }
+
+  /**
+   * Gets how many lookups were rendered without being cached, because they didn't fit in the
+   * model's memory budget.
+   *
+   * @return The number of uncached renders.
+   */
+  public long getUncachedRenders() {
+    return this.uncachedRenders;
+  }
+
+  /**
+   * Gets how many windows are cached right now.
+   *
+   * @return The number of cached windows.
+   */
+  public int getCachedWindows() {
+    return this.cachedWindows;
+  }
+
+  /**
+   * Gets how many frames each window holds.
+   *
+   * @return The window size in frames.
+   */
+  public int getWindowSize() {
+    return this.windowSize;
+  }
+
+  /**
+   * Gets how many windows can be cached at once.
+   *
+   * @return The maximum number of cached windows.
+   */
+  public int getMaxWindows() {
+    return this.maxWindows;
+  }
+
+  @Override
+  public String toString() {
+    return String.format("hits: %d, misses: %d, evictions: %d, windows: %d/%d of %d frames",
+        hits, misses, evictions, cachedWindows, maxWindows, windowSize);
+  }
+}
@@ -0,0 +1,139 @@
+package model;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import model.shape.IShape;
+
+/**
+ * A file holding every rendered frame of an animation, laid out exactly like the columns of a
+ * frame store, so that a later run can map it into memory and read frames straight out of it
+ * instead of rendering them again. The file is keyed by a hash of the input the animation was read
+ * from, and is only used if that key, the version of the renderer that wrote it and the
+ * animation's size still match.
+ *
+ * <p>The file starts with a header of eight ints: a marker, the format version, the key (as two
+ * ints), the number of shapes, the number of frames and the renderer version, followed by an
+ * unused int. The marker is
+ * written last, and a new file is written next to the old one and then moved over it, so a file
+ * that was only partly written is never trusted and a process that still has the old file mapped
+ * keeps reading the old one. Everything is written in the machine's own byte order; a file written
+ * on a machine of the other order just doesn't match and is written again.</p>
+ */
+final class FrameFile {
+
+  private static final int MARKER = 0x46524D53;
+  private static final int VERSION = 2;
+
+  /**
+   * The version of the way frames are worked out from directions. A file doesn't record how its
+   * frames were tweened, so this has to go up whenever a change to tweening changes any frame, or
+   * files written before the change would keep being read as they are.
+   */
+  static final int RENDERER_VERSION = 1;
+  private static final int HEADER_INTS = 8;
+
+  private FrameFile() {
+  }
+
+  /**
+   * Maps an existing frame file, if it was written for the same input and animation.
+   *
+   * @param file        The frame file.
+   * @param key         The hash of the input the animation was read from.
+   * @param blankShapes A shape of the right name and type for each shape in the animation.
+   * @param frameCount  How many frames the animation has.
+   * @return A store reading from the file, or null if the file doesn't exist or doesn't match.
+   * @throws IOException If the file exists but can't be read.
+   */
+  static FrameStore map(Path file, long key, IShape[] blankShapes, int frameCount)
+      throws IOException {
+    long size = getSize(blankShapes.length, frameCount);
+
+    if (size > Integer.MAX_VALUE || !Files.isRegularFile(file) || Files.size(file) != size) {
+      return null;
+    }
+
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, size);
+      IntBuffer ints = buffer.order(ByteOrder.nativeOrder()).asIntBuffer();
+
+      if (ints.get(0) != MARKER || ints.get(1) != VERSION
+          || ints.get(2) != (int) (key >>> 32) || ints.get(3) != (int) key
+          || ints.get(4) != blankShapes.length || ints.get(5) != frameCount
+          || ints.get(6) != RENDERER_VERSION) {
+        return null;
+      }
+
+      return new FrameStore(ints.position(HEADER_INTS), blankShapes, 0, frameCount);
+    }
+  }
+
+  /**
+   * Writes a new frame file, rendering every frame of the animation straight into it. This takes
+   * as long as rendering the whole animation, so it is meant to be run in the background.
+   *
+   * @param file        The frame file, which is replaced if it already exists.
+   * @param key         The hash of the input the animation was read from.
+   * @param blankShapes A shape of the right name and type for each shape in the animation.
+   * @param frameCount  How many frames the animation has.
+   * @param renderer    What renders the frames.
+   * @throws IOException If the file can't be written, or would be too big to map.
+   */
+  static void write(Path file, long key, IShape[] blankShapes, int frameCount,
+      FrameCache.WindowRenderer renderer) throws IOException {
+    long size = getSize(blankShapes.length, frameCount);
+
+    if (size > Integer.MAX_VALUE) {
+      throw new IOException("Animation is too big for a frame file.");
+    }
+
+    Path directory = file.toAbsolutePath().getParent();
+    Path partial = Files.createTempFile(directory, file.getFileName().toString(), ".partial");
+    // Writing can still be going when the program exits, which would leave the file behind.
+    partial.toFile().deleteOnExit();
+
+    try (FileChannel channel = FileChannel.open(partial, StandardOpenOption.READ,
+        StandardOpenOption.WRITE)) {
+      MappedByteBuffer buffer = channel.map(MapMode.READ_WRITE, 0, size);
+      IntBuffer ints = buffer.order(ByteOrder.nativeOrder()).asIntBuffer();
+
+      FrameStore store = new FrameStore(ints.position(HEADER_INTS), blankShapes, 0, frameCount);
+      renderer.render(store, 0, frameCount);
+
+      ints.put(1, VERSION);
+      ints.put(2, (int) (key >>> 32));
+      ints.put(3, (int) key);
+      ints.put(4, blankShapes.length);
+      ints.put(5, frameCount);
+      ints.put(6, RENDERER_VERSION);
+      buffer.force();
+      ints.put(0, MARKER);
+      buffer.force();
+
+      Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(partial);
+    }
+  }
+
+  /**
+   * Works out how big the frame file of an animation is.
+   *
+   * @param shapeCount How many shapes the animation has.
+   * @param frameCount How many frames the animation has.
+   * @return The size of the file in bytes.
+   */
+  private static long getSize(int shapeCount, int frameCount) {
+    return Integer.BYTES * (HEADER_INTS
+        + (long) FrameStore.COLUMN_COUNT * shapeCount * frameCount);
+  }
+}
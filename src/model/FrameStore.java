@@ -0,0 +1,368 @@
+package model;
+
+import java.nio.IntBuffer;
+import model.shape.CoordinateType;
+import model.shape.IShape;
+import model.shape.ShapeState;
+import model.utils.ColorUtils;
+
+/**
+ * Stores what every shape looks like on every frame of a range of frames. Rather than keeping one
+ * shape object per shape per frame, each value is kept in its own array of ints (a column), with
+ * one slot per shape per frame. Colors are packed into a single int as 0xRRGGBB.
+ *
+ * <p>The columns can also be laid over a buffer that was mapped from a frame file, one after the
+ * other, in which case frames are read straight out of the file. States aren't kept for a store
+ * like that; they are made from the columns whenever they are asked for.</p>
+ */
+final class FrameStore {
+
+  private static final int PRESENT = 1;
+  private static final int VISIBLE = 2;
+  private static final int CENTERED = 4;
+
+  /**
+   * How many columns of ints a store has, which is also how many ints it takes per slot.
+   */
+  static final int COLUMN_COUNT = 6;
+
+  private final int shapeCount;
+  private final int firstFrame;
+  private final int frameCount;
+
+  private final IntBuffer xs;
+  private final IntBuffer ys;
+  private final IntBuffer widths;
+  private final IntBuffer heights;
+  private final IntBuffer colors;
+  private final IntBuffer flags;
+  private final ShapeState[] states;
+  private final IShape[] blankShapes;
+
+  /**
+   * Sets up an empty store. Every slot starts out as not having a shape in it.
+   *
+   * @param shapeCount How many shapes the store holds.
+   * @param firstFrame The first frame the store holds.
+   * @param frameCount How many frames the store holds.
+   */
+  FrameStore(int shapeCount, int firstFrame, int frameCount) {
+    if (shapeCount < 0 || firstFrame < 0 || frameCount < 0) {
+      throw new IllegalArgumentException("Frame store sizes cannot be negative.");
+    }
+    this.shapeCount = shapeCount;
+    this.firstFrame = firstFrame;
+    this.frameCount = frameCount;
+
+    int size = slotCount(shapeCount, frameCount);
+    this.xs = IntBuffer.wrap(new int[size]);
+    this.ys = IntBuffer.wrap(new int[size]);
+    this.widths = IntBuffer.wrap(new int[size]);
+    this.heights = IntBuffer.wrap(new int[size]);
+    this.colors = IntBuffer.wrap(new int[size]);
+    this.flags = IntBuffer.wrap(new int[size]);
+    this.states = new ShapeState[size];
+    this.blankShapes = null;
+  }
+
+  /**
+   * Lays a store over columns that are already in a buffer, such as one mapped from a file. Each
+   * column takes up one slot per shape per frame, in the order x, y, width, height, color, flags.
+   *
+   * @param columns     The buffer holding the columns, starting at its position.
+   * @param blankShapes A shape of the right name and type for each shape, which states are made
+   *                    from.
+   * @param firstFrame  The first frame the store holds.
+   * @param frameCount  How many frames the store holds.
+   */
+  FrameStore(IntBuffer columns, IShape[] blankShapes, int firstFrame, int frameCount) {
+    if (firstFrame < 0 || frameCount < 0) {
+      throw new IllegalArgumentException("Frame store sizes cannot be negative.");
+    }
+    this.shapeCount = blankShapes.length;
+    this.firstFrame = firstFrame;
+    this.frameCount = frameCount;
+
+    int size = slotCount(this.shapeCount, frameCount);
+    int start = columns.position();
+
+    if ((long) COLUMN_COUNT * size > columns.limit() - start) {
+      throw new IllegalArgumentException("Frame store doesn't fit in the columns it was given.");
+    }
+    this.xs = columns.slice(start, size);
+    this.ys = columns.slice(start + size, size);
+    this.widths = columns.slice(start + 2 * size, size);
+    this.heights = columns.slice(start + 3 * size, size);
+    this.colors = columns.slice(start + 4 * size, size);
+    this.flags = columns.slice(start + 5 * size, size);
+    this.states = null;
+    this.blankShapes = blankShapes;
+  }
+
+  /**
+   * Works out how many slots a store of the given size has, which has to fit in an int for the
+   * columns to be indexed.
+   *
+   * @param shapeCount How many shapes the store holds.
+   * @param frameCount How many frames the store holds.
+   * @return The number of slots in each column.
+   * @throws IllegalArgumentException If there are too many slots to index.
+   */
+  private static int slotCount(int shapeCount, int frameCount) throws IllegalArgumentException {
+    try {
+      return Math.multiplyExact(shapeCount, frameCount);
+    } catch (ArithmeticException e) {
+      throw new IllegalArgumentException("Frame store cannot hold " + shapeCount + " shapes over "
+          + frameCount + " frames.");
+    }
+  }
+
+  /**
+   * Records what a shape looks like on a frame.
+   *
+   * @param shapeId The id of the shape.
+   * @param frame   The frame.
+   * @param shape   The shape on that frame, or null if it isn't in the animation on that frame.
+   */
+  void put(int shapeId, int frame, IShape shape) {
+    int slot = this.slot(shapeId, frame);
+
+    if (shape == null) {
+      this.flags.put(slot, 0);
+      if (this.states != null) {
+        this.states[slot] = null;
+      }
+      return;
+    }
+
+    this.xs.put(slot, shape.getX());
+    this.ys.put(slot, shape.getY());
+    this.widths.put(slot, shape.getWidth());
+    this.heights.put(slot, shape.getHeight());
+    this.colors.put(slot, shape.getRgb());
+    this.flags.put(slot, PRESENT
+        | (shape.isVisible() ? VISIBLE : 0)
+        | (shape.getCoordType() == CoordinateType.CENTER ? CENTERED : 0));
+
+    if (this.states == null) {
+      return;
+    }
+
+    // A shape that hasn't changed since the frame before shares that frame's state.
+    if (frame > this.firstFrame && this.sameAsPreviousFrame(slot)) {
+      this.states[slot] = this.states[slot - 1];
+    } else {
+      this.states[slot] = shape.getState();
+    }
+  }
+
+  /**
+   * Whether a slot holds exactly the same values as the slot for the frame before it.
+   *
+   * @param slot The slot, which can't be for the first frame of the store.
+   * @return true if nothing changed between the two frames.
+   */
+  private boolean sameAsPreviousFrame(int slot) {
+    int previous = slot - 1;
+    return this.states[previous] != null
+        && this.flags.get(previous) == this.flags.get(slot)
+        && this.xs.get(previous) == this.xs.get(slot) && this.ys.get(previous) == this.ys.get(slot)
+        && this.widths.get(previous) == this.widths.get(slot)
+        && this.heights.get(previous) == this.heights.get(slot)
+        && this.colors.get(previous) == this.colors.get(slot);
+  }
+
+  /**
+   * Estimates how much memory a store of the given size takes before anything is put in it, which
+   * is everything except its states.
+   *
+   * @param shapeCount How many shapes the store holds.
+   * @param frameCount How many frames the store holds.
+   * @return The size of an empty store in bytes.
+   */
+  static long estimateEmptyFootprint(int shapeCount, int frameCount) {
+    long size = (long) shapeCount * frameCount;
+    return Footprints.OBJECT_HEADER + 6 * Footprints.intArray(size)
+        + Footprints.referenceArray(size);
+  }
+
+  /**
+   * Estimates how much memory the store takes right now. Frames that share the state of the frame
+   * before them only count that state once.
+   *
+   * @return The size of the store in bytes.
+   */
+  long getFootprint() {
+    if (this.states == null) {
+      // The columns live in the mapped file, which the OS pages in and out on its own.
+      return Footprints.OBJECT_HEADER;
+    }
+
+    long ownStates = 0;
+
+    for (int slot = 0; slot < this.states.length; slot++) {
+      boolean shared = slot % this.frameCount != 0 && this.states[slot] == this.states[slot - 1];
+
+      if (this.states[slot] != null && !shared) {
+        ownStates++;
+      }
+    }
+
+    return estimateEmptyFootprint(this.shapeCount, this.frameCount)
+        + ownStates * Footprints.STATE;
+  }
+
+  /**
+   * Whether the store holds the given frame.
+   *
+   * @param frame The frame.
+   * @return true if the frame is within this store's range.
+   */
+  boolean hasFrame(int frame) {
+    return frame >= this.firstFrame && frame < this.firstFrame + this.frameCount;
+  }
+
+  /**
+   * Whether a shape is in the animation on a frame. Frames outside of the store never have shapes.
+   *
+   * @param shapeId The id of the shape.
+   * @param frame   The frame.
+   * @return true if the shape is there on that frame.
+   */
+  boolean isPresent(int shapeId, int frame) {
+    return shapeId >= 0 && shapeId < this.shapeCount && this.hasFrame(frame)
+        && (this.flags.get(this.slot(shapeId, frame)) & PRESENT) != 0;
+  }
+
+  /**
+   * Whether a shape has been created by a frame.
+   *
+   * @param shapeId The id of the shape, which must be present on that frame.
+   * @param frame   The frame.
+   * @return true if the shape is visible on that frame.
+   */
+  boolean isVisible(int shapeId, int frame) {
+    return (this.flags.get(this.slot(shapeId, frame)) & VISIBLE) != 0;
+  }
+
+  /**
+   * Gets the x coordinate of a shape on a frame.
+   *
+   * @param shapeId The id of the shape, which must be present on that frame.
+   * @param frame   The frame.
+   * @return The x coordinate.
+   */
+  int getX(int shapeId, int frame) {
+    return this.xs.get(this.slot(shapeId, frame));
+  }
+
+  /**
+   * Gets the y coordinate of a shape on a frame.
+   *
+   * @param shapeId The id of the shape, which must be present on that frame.
+   * @param frame   The frame.
+   * @return The y coordinate.
+   */
+  int getY(int shapeId, int frame) {
+    return this.ys.get(this.slot(shapeId, frame));
+  }
+
+  /**
+   * Gets the width of a shape on a frame.
+   *
+   * @param shapeId The id of the shape, which must be present on that frame.
+   * @param frame   The frame.
+   * @return The width.
+   */
+  int getWidth(int shapeId, int frame) {
+    return this.widths.get(this.slot(shapeId, frame));
+  }
+
+  /**
+   * Gets the height of a shape on a frame.
+   *
+   * @param shapeId The id of the shape, which must be present on that frame.
+   * @param frame   The frame.
+   * @return The height.
+   */
+  int getHeight(int shapeId, int frame) {
+    return this.heights.get(this.slot(shapeId, frame));
+  }
+
+  /**
+   * Gets the color of a shape on a frame.
+   *
+   * @param shapeId The id of the shape, which must be present on that frame.
+   * @param frame   The frame.
+   * @return The color packed as 0xRRGGBB.
+   */
+  int getColor(int shapeId, int frame) {
+    return this.colors.get(this.slot(shapeId, frame));
+  }
+
+  /**
+   * Gets the coordinate type of a shape on a frame.
+   *
+   * @param shapeId The id of the shape, which must be present on that frame.
+   * @param frame   The frame.
+   * @return The coordinate type.
+   */
+  CoordinateType getCoordType(int shapeId, int frame) {
+    return (this.flags.get(this.slot(shapeId, frame)) & CENTERED) != 0
+        ? CoordinateType.CENTER : CoordinateType.CORNER;
+  }
+
+  /**
+   * Gets the state of a shape on a frame. Frames where the shape didn't change share one state.
+   *
+   * @param shapeId The id of the shape.
+   * @param frame   The frame.
+   * @return The state of the shape on that frame, or null if it isn't in the animation then.
+   */
+  ShapeState getState(int shapeId, int frame) {
+    if (!this.isPresent(shapeId, frame)) {
+      return null;
+    }
+    if (this.states == null) {
+      return this.getShape(shapeId, frame, this.blankShapes[shapeId]).getState();
+    }
+    return this.states[this.slot(shapeId, frame)];
+  }
+
+  /**
+   * Builds a shape object out of what is stored for a shape on a frame.
+   *
+   * @param shapeId    The id of the shape.
+   * @param frame      The frame.
+   * @param blankShape A shape of the right name and type that hasn't been created yet.
+   * @return The shape on that frame, or null if it isn't in the animation on that frame.
+   */
+  IShape getShape(int shapeId, int frame, IShape blankShape) {
+    if (!this.isPresent(shapeId, frame)) {
+      return null;
+    }
+
+    IShape shape = blankShape.getCopy();
+
+    if (this.isVisible(shapeId, frame)) {
+      int color = this.getColor(shapeId, frame);
+      shape.create(this.getX(shapeId, frame), this.getY(shapeId, frame),
+          this.getWidth(shapeId, frame), this.getHeight(shapeId, frame),
+          this.getCoordType(shapeId, frame),
+          ColorUtils.red(color), ColorUtils.green(color), ColorUtils.blue(color));
+    }
+
+    return shape;
+  }
+
+  /**
+   * Works out where a shape's values for a frame are kept in the columns.
+   *
+   * @param shapeId The id of the shape.
+   * @param frame   The frame.
+   * @return The index into the columns.
+   */
+  private int slot(int shapeId, int frame) {
+    return shapeId * this.frameCount + (frame - this.firstFrame);
+  }
+}
@@ -1,10 +1,13 @@
 package model;
 
+import java.nio.file.Path;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 import model.direction.IDirection;
 import model.shape.CoordinateType;
 import model.shape.IShape;
+import model.shape.ShapeState;
 import model.utils.Pair;
 
 /**
@@ -31,6 +34,26 @@ public interface ISimpleAnimationModel {
    */
   void initializeAnimation() throws IllegalArgumentException, IllegalStateException;
 
+  /**
+   * Checks every shape's directions for overlaps and frame gaps without initializing the
+   * animation, collecting every problem instead of stopping at the first one.
+   *
+   * @return Every problem that was found, grouped by shape in the order the shapes were added.
+   */
+  ValidationResult validateAnimation();
+
+  /**
+   * Gets the initialized animation compiled for reading from other threads. It is compiled the
+   * first time it is asked for, and again after the next edit. Unlike the model, which isn't safe
+   * to use from more than one thread, the compiled animation never changes, so it can be handed to
+   * any number of threads, each reading it through its own cursor. Edits made to the model
+   * afterwards are only seen by animations compiled after them.
+   *
+   * @return The compiled animation.
+   * @throws IllegalStateException If the model hasn't been initialized.
+   */
+  CompiledAnimation getCompiledAnimation() throws IllegalStateException;
+
   /**
    * Moves all shapes in the model forward one frame.
    *
@@ -44,10 +67,29 @@ public interface ISimpleAnimationModel {
   void advanceFrame();
 
   /**
-   * Resets the frame of the model back to zero.
+   * Resets the frame of the model back to zero, the same as seeking to it.
    */
   void resetFrame();
 
+  /**
+   * Jumps straight to a frame, forwards or backwards, without playing the frames in between. Frames
+   * are looked up from each shape's timeline, so this takes the same time no matter how far the
+   * jump is.
+   * If the animation has been played with advanceShapes, its shapes are put back the way playing
+   * up to that frame would have left them, including any shapes removed on or after it.
+   *
+   * @param frame The frame to jump to.
+   * @throws IllegalArgumentException If the frame is negative.
+   */
+  void seekToFrame(int frame) throws IllegalArgumentException;
+
+  /**
+   * Gets the frame the model is currently on.
+   *
+   * @return The current frame.
+   */
+  int getCurrentFrame();
+
   /**
    * Adds a new shape to the model. The shape still has to be "created" to show up in the view.
    *
@@ -176,9 +218,94 @@ public interface ISimpleAnimationModel {
    */
   List<IDirection> getDirectionsForShape(String shapeName) throws IllegalArgumentException;
 
+  /**
+   * Removes one of a shape's directions. This can be done after the animation is initialized, in
+   * which case only the frames the removal can change are rendered again.
+   *
+   * @param shapeName     The name of the shape.
+   * @param directionType The type of the direction (i.e. "MOVE", "COLOR").
+   * @param startFrame    The frame the direction starts on.
+   * @param endFrame      The frame the direction ends on.
+   * @throws IllegalArgumentException If the shape or direction doesn't exist, or a create is
+   *                                  removed while the shape still has other directions.
+   */
   void removeDirection(String shapeName, String directionType, int startFrame, int endFrame)
       throws IllegalArgumentException;
 
+  /**
+   * Changes where an existing move takes a shape, keeping it on the same frames. Unlike moveShape,
+   * this can be done after the animation is initialized. Only the frames from the start of the move
+   * to the end of the shape's next move are rendered again. Shapes that were already played with
+   * advanceShapes aren't changed.
+   *
+   * @param shapeName  The name of the shape.
+   * @param startFrame The frame the move starts on.
+   * @param endFrame   The frame the move ends on.
+   * @param newX       The x coordinate the shape should now end up on.
+   * @param newY       The y coordinate the shape should now end up on.
+   * @throws IllegalArgumentException If the shape or move doesn't exist.
+   */
+  void editMove(String shapeName, int startFrame, int endFrame, int newX, int newY)
+      throws IllegalArgumentException;
+
+  /**
+   * Changes the size an existing resize ends on, keeping it on the same frames. Only the frames
+   * from the start of the resize to the end of the shape's next resize are rendered again.
+   *
+   * @param shapeName  The name of the shape.
+   * @param startFrame The frame the resize starts on.
+   * @param endFrame   The frame the resize ends on.
+   * @param newWidth   The width the shape should now end up with.
+   * @param newHeight  The height the shape should now end up with.
+   * @throws IllegalArgumentException If the shape or resize doesn't exist, or the size is invalid.
+   */
+  void editResize(String shapeName, int startFrame, int endFrame, int newWidth, int newHeight)
+      throws IllegalArgumentException;
+
+  /**
+   * Changes the color an existing recolor ends on, keeping it on the same frames. Only the frames
+   * from the start of the recolor to the end of the shape's next recolor are rendered again.
+   *
+   * @param shapeName  The name of the shape.
+   * @param startFrame The frame the recolor starts on.
+   * @param endFrame   The frame the recolor ends on.
+   * @param r          The new red value.
+   * @param g          The new green value.
+   * @param b          The new blue value.
+   * @throws IllegalArgumentException If the shape or recolor doesn't exist, or the color is
+   *                                  invalid.
+   */
+  void editRecolor(String shapeName, int startFrame, int endFrame, int r, int g, int b)
+      throws IllegalArgumentException;
+
+  /**
+   * Gets the directions of every shape that are running on a frame, meaning they start on or
+   * before it and end on or after it.
+   *
+   * @param frame The frame.
+   * @return The running directions, sorted by start frame.
+   */
+  List<IDirection> getDirectionsAtFrame(int frame);
+
+  /**
+   * Gets the directions of a shape that are running on a frame, meaning they start on or before it
+   * and end on or after it.
+   *
+   * @param shapeName The name of the shape.
+   * @param frame     The frame.
+   * @return The running directions, sorted by start frame.
+   * @throws IllegalArgumentException if the shape doesn't exist.
+   */
+  List<IDirection> getDirectionsAtFrame(String shapeName, int frame)
+      throws IllegalArgumentException;
+
+  /**
+   * Gets every frame that any direction starts or ends on.
+   *
+   * @return The frames, sorted and without repeats.
+   */
+  List<Integer> getDirectionBoundaries();
+
   /**
    * Returns all shapes in the model.
    *
@@ -200,6 +327,27 @@ public interface ISimpleAnimationModel {
    */
   List<IShape> getShapesAtFrame(int frame);
 
+  /**
+   * Returns the shapes that are visible on each frame of a range. The range can run backwards, in
+   * which case the frames are given from last to first, such as for playing the animation in
+   * reverse.
+   *
+   * @param fromFrame The first frame to get.
+   * @param toFrame   The last frame to get.
+   * @return The shapes on each frame, in the order the frames were asked for.
+   */
+  List<List<IShape>> getShapesInRange(int fromFrame, int toFrame);
+
+  /**
+   * Gets every shape that looks different on a frame than it did on the frame before, along with
+   * both of its states. Shapes that are stalled or otherwise unchanged are left out, so a view can
+   * repaint only the areas that changed.
+   *
+   * @param frame The frame.
+   * @return The changes from the frame before to this one, in the order the shapes were added.
+   */
+  List<ShapeChange> getChangesAtFrame(int frame);
+
   /**
    * Returns a shape at a given frame.
    *
@@ -244,6 +392,13 @@ public interface ISimpleAnimationModel {
    */
   Pair<Integer, Integer> getBoundaries();
 
+  /**
+   * Gets the corner coordinate.
+   *
+   * @return the x [0] and y [1] coordinate of the corner.
+   */
+  Pair<Integer, Integer> getTopCoord();
+
   /**
    * Gets a Shape given its ID.
    *
@@ -251,4 +406,124 @@ public interface ISimpleAnimationModel {
    * @return The IShape the shape is
    */
   IShape getShape(String shapeName);
+
+  /**
+   * Gets the current state of a shape. Unlike getShape, no copy is made, since a state can't be
+   * changed.
+   *
+   * @param shapeName the name of the shape.
+   * @return The current state of the shape.
+   * @throws IllegalArgumentException if the shape doesn't exist.
+   */
+  ShapeState getShapeState(String shapeName) throws IllegalArgumentException;
+
+  /**
+   * Returns the current state of every shape in the model.
+   *
+   * @return the states of all shapes in the model, in the order they were added.
+   */
+  List<ShapeState> getShapeStates();
+
+  /**
+   * Returns the state of every shape that is in the animation on a frame.
+   *
+   * @param frame the frame.
+   * @return the states of all shapes on that frame.
+   */
+  List<ShapeState> getShapeStatesAtFrame(int frame);
+
+  /**
+   * Returns the state of a shape on a frame. Frames where the shape doesn't change share the same
+   * state.
+   *
+   * @param shapeName the name of the shape.
+   * @param frame     the frame.
+   * @return the state of the shape, or null if it isn't in the animation on that frame.
+   */
+  ShapeState getShapeStateAtFrame(String shapeName, int frame);
+
+  /**
+   * Sets how frames are cached once they have been rendered. Frames are rendered in windows of the
+   * given number of frames whenever a frame in that window is first asked for, and only the given
+   * number of windows are kept, throwing away the least recently used window when another is
+   * needed. Changing the cache throws away every frame that was rendered so far.
+   *
+   * @param windowSize How many frames each window holds.
+   * @param maxWindows How many windows can be kept at once.
+   * @throws IllegalArgumentException If either value is less than 1.
+   */
+  void setFrameCacheSize(int windowSize, int maxWindows) throws IllegalArgumentException;
+
+  /**
+   * Sets how much memory, in bytes, the model may use for what it works out and keeps around:
+   * its rendered frames, the timelines of its shapes and its compiled animation, once it has been
+   * asked for. Whatever the shapes, directions, timelines and compiled animation take comes first,
+   * and rendered frames are only cached in what is left. Once not even a single window of frames
+   * fits, each frame is worked out whenever it is asked for instead. The budget starts out as Long.MAX_VALUE, which never runs out.
+   *
+   * @param bytes The budget in bytes.
+   * @throws IllegalArgumentException If the budget is negative.
+   */
+  void setMemoryBudget(long bytes) throws IllegalArgumentException;
+
+  /**
+   * Gets how much memory the model may use for what it works out and keeps around.
+   *
+   * @return The budget in bytes.
+   */
+  long getMemoryBudget();
+
+  /**
+   * Estimates how much memory the model is using right now, counting its shapes, directions,
+   * timelines, compiled animation and cached frames. The JVM doesn't give the exact size of an
+   * object, so this is a rough estimate that errs on the side of being too big.
+   *
+   * @return The footprint in bytes.
+   */
+  long getMemoryFootprint();
+
+  /**
+   * Sets a file to keep every rendered frame in between runs. The first time frames are needed,
+   * the file is memory mapped and read from directly if it was written for the same input;
+   * otherwise frames are rendered into the frame cache as usual while every frame is written into
+   * the file on a background thread, so the next run doesn't have to. Changing the model afterwards
+   * stops it from using the file, and if the file can't be read or written, frames are rendered
+   * into the frame cache as usual.
+   *
+   * @param file      The frame file.
+   * @param inputHash A hash of the input the model was read from, which the file is keyed by.
+   */
+  void setFrameFile(Path file, long inputHash);
+
+  /**
+   * Marks the first frame that motions still to be loaded could change. A model taken while its
+   * animation is still being read only has final frames before this one; a model that was read
+   * in full has no horizon, and every frame is final.
+   *
+   * @param frame The first frame that isn't final yet, or Integer.MAX_VALUE if every frame is.
+   * @throws IllegalArgumentException If the frame is negative.
+   */
+  void setSafeHorizon(int frame) throws IllegalArgumentException;
+
+  /**
+   * Gets the first frame that motions still to be loaded could change.
+   *
+   * @return The first frame that isn't final yet, or Integer.MAX_VALUE if every frame is.
+   */
+  int getSafeHorizon();
+
+  /**
+   * Sets the pool that shapes are rendered on. Shapes never affect each other, so each shape is
+   * rendered as its own task and the frames come out the same no matter how they are split up.
+   *
+   * @param pool The pool to render on, or null to render every shape on the calling thread.
+   */
+  void setRenderingPool(ForkJoinPool pool);
+
+  /**
+   * Gets how well the cache of rendered frames has been doing so far.
+   *
+   * @return The hits, misses and evictions of the frame cache.
+   */
+  FrameCacheStatistics getFrameCacheStatistics();
 }
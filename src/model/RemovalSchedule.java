@@ -0,0 +1,73 @@
+package model;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * The frames that shapes are removed on, in the order they happen. The schedule keeps a cursor at
+ * the next removal that hasn't happened yet, so each frame only looks at the shapes that are
+ * removed on it instead of checking every shape in the model. Seeking backwards moves the cursor
+ * back over the removals that haven't happened yet by the frame sought.
+ */
+final class RemovalSchedule {
+
+  private final long[] removals;
+  private int next;
+
+  /**
+   * Builds the schedule.
+   *
+   * @param removalFrames The frame each shape is removed on, indexed by the shape's ID.
+   * @param shapeCount    How many shapes there are, which can be less than the array's length.
+   * @param noRemoval     What is stored for a shape that is never removed.
+   */
+  RemovalSchedule(int[] removalFrames, int shapeCount, int noRemoval) {
+    long[] removals = new long[shapeCount];
+    int count = 0;
+
+    for (int shapeId = 0; shapeId < shapeCount; shapeId++) {
+      if (removalFrames[shapeId] != noRemoval) {
+        // Sorting the frame in the high half orders the removals by frame, then by ID.
+        removals[count++] = ((long) removalFrames[shapeId] << 32) | shapeId;
+      }
+    }
+
+    this.removals = Arrays.copyOf(removals, count);
+    Arrays.sort(this.removals);
+  }
+
+  /**
+   * Removes every shape whose removal frame has been reached and that hasn't been removed yet.
+   *
+   * @param frame  The frame playback has reached.
+   * @param remove What removes a shape, given its ID.
+   */
+  void removeThrough(int frame, IntConsumer remove) {
+    while (this.next < this.removals.length && (int) (this.removals[this.next] >> 32) <= frame) {
+      remove.accept((int) this.removals[this.next]);
+      this.next++;
+    }
+  }
+
+  /**
+   * Undoes every removal on or after a frame that has already happened, latest first.
+   *
+   * @param frame   The frame playback has gone back to.
+   * @param restore What puts a shape back, given its ID.
+   */
+  void restoreFrom(int frame, IntConsumer restore) {
+    while (this.next > 0 && (int) (this.removals[this.next - 1] >> 32) >= frame) {
+      this.next--;
+      restore.accept((int) this.removals[this.next]);
+    }
+  }
+
+  /**
+   * Gets how many removals haven't happened yet.
+   *
+   * @return The number of shapes still to be removed.
+   */
+  int getPendingCount() {
+    return this.removals.length - this.next;
+  }
+}
@@ -0,0 +1,62 @@
+package model;
+
+import model.shape.ShapeState;
+
+/**
+ * How a single shape changed from one frame to the next. Each side is the full state of the shape
+ * on that frame, which holds its bounds, so a view can repaint just the area the shape left and
+ * the area it moved in to.
+ */
+public final class ShapeChange {
+
+  private final String name;
+  private final ShapeState previousState;
+  private final ShapeState newState;
+
+  /**
+   * Creates a change.
+   *
+   * @param name          The name of the shape.
+   * @param previousState The state of the shape on the frame before, or null if it wasn't in the
+   *                      animation then.
+   * @param newState      The state of the shape on the frame, or null if it isn't in the animation
+   *                      anymore.
+   */
+  public ShapeChange(String name, ShapeState previousState, ShapeState newState) {
+    this.name = name;
+    this.previousState = previousState;
+    this.newState = newState;
+  }
+
+  /**
+   * Gets the name of the shape that changed.
+   *
+   * @return The name of the shape.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Gets what the shape looked like on the frame before.
+   *
+   * @return The previous state, or null if the shape wasn't in the animation then.
+   */
+  public ShapeState getPreviousState() {
+    return this.previousState;
+  }
+
+  /**
+   * Gets what the shape looks like on the frame.
+   *
+   * @return The new state, or null if the shape isn't in the animation anymore.
+   */
+  public ShapeState getNewState() {
+    return this.newState;
+  }
+
+  @Override
+  public String toString() {
+    return this.name + ": " + this.previousState + " -> " + this.newState;
+  }
+}
@@ -0,0 +1,169 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import model.direction.IDirection;
+import model.shape.IShape;
+
+/**
+ * Works out what a single shape looks like on any frame straight from its sorted directions. The
+ * state of the shape at the start of every direction is worked out once, after which a lookup only
+ * has to binary search for the direction active on each kind of change (create, move, resize and
+ * color) and apply it, instead of replaying every frame before it.
+ */
+final class ShapeTimeline {
+
+  private static final Map<String, BiConsumer<IShape, IShape>> CHANNEL_COPIERS
+      = getChannelCopiers();
+
+  private final IShape blankShape;
+  private final Map<String, Track> tracks;
+
+  /**
+   * Builds the timeline of a shape.
+   *
+   * @param blankShape       A shape of the right name and type that hasn't been created yet.
+   * @param sortedDirections The shape's directions, sorted by start frame.
+   */
+  ShapeTimeline(IShape blankShape, List<IDirection> sortedDirections) {
+    this.blankShape = blankShape;
+    this.tracks = new HashMap<>();
+
+    IShape current = blankShape.getCopy();
+
+    for (IDirection direction : sortedDirections) {
+      String type = direction.getType();
+
+      if (type.equals("CREATE") || CHANNEL_COPIERS.containsKey(type)) {
+        this.tracks.computeIfAbsent(type, t -> new Track()).add(direction, current.getCopy());
+      }
+
+      direction.applyThroughFrame(current, direction.getEndFrame());
+    }
+  }
+
+  /**
+   * Gets the shape as it is after the given frame has been run.
+   *
+   * @param frame The frame to look at.
+   * @return A new shape holding the state on that frame.
+   */
+  IShape getShapeAtFrame(int frame) {
+    Track creates = this.tracks.get("CREATE");
+    int createIndex = creates == null ? -1 : creates.indexAt(frame);
+
+    if (createIndex < 0) {
+      return this.blankShape.getCopy();
+    }
+
+    IShape shape = creates.startStates.get(createIndex).getCopy();
+    creates.directions.get(createIndex).applyThroughFrame(shape, frame);
+    int createFrame = creates.directions.get(createIndex).getStartFrame();
+
+    for (Map.Entry<String, BiConsumer<IShape, IShape>> copier : CHANNEL_COPIERS.entrySet()) {
+      Track track = this.tracks.get(copier.getKey());
+      int index = track == null ? -1 : track.indexAt(frame);
+
+      // Anything that started before the shape was last created was overwritten by the create.
+      if (index < 0 || track.directions.get(index).getStartFrame() < createFrame) {
+        continue;
+      }
+
+      copier.getValue().accept(track.startStates.get(index), shape);
+      track.directions.get(index).applyThroughFrame(shape, frame);
+    }
+
+    return shape;
+  }
+
+  /**
+   * Estimates how much memory the timeline takes, which is mostly the copy of the shape kept for
+   * the start of each direction. The directions themselves aren't counted, since the timeline only
+   * points to them.
+   *
+   * @return The size of the timeline in bytes.
+   */
+  long getFootprint() {
+    long footprint = Footprints.OBJECT_HEADER + Footprints.SHAPE;
+
+    for (Track track : this.tracks.values()) {
+      footprint += Footprints.OBJECT_HEADER
+          + track.directions.size() * (2 * Footprints.REFERENCE + Footprints.SHAPE);
+    }
+
+    return footprint;
+  }
+
+  /**
+   * Gets how many directions the timeline is made of.
+   *
+   * @return The number of directions.
+   */
+  int getDirectionCount() {
+    int count = 0;
+
+    for (Track track : this.tracks.values()) {
+      count += track.directions.size();
+    }
+
+    return count;
+  }
+
+  /**
+   * The direction types that change part of a shape, mapped to how to copy that part of the shape
+   * from one shape onto another.
+   *
+   * @return The map of direction types to copiers.
+   */
+  private static Map<String, BiConsumer<IShape, IShape>> getChannelCopiers() {
+    Map<String, BiConsumer<IShape, IShape>> copiers = new HashMap<>();
+    copiers.putIfAbsent("MOVE", (from, to) -> to.move(from.getX(), from.getY()));
+    copiers.putIfAbsent("RESIZE", (from, to) -> to.setSize(from.getWidth(), from.getHeight()));
+    copiers.putIfAbsent("COLOR",
+        (from, to) -> to.setColor(from.getRed(), from.getGreen(), from.getBlue()));
+    return copiers;
+  }
+
+  /**
+   * All directions of one type for the shape, along with the state the shape was in when each of
+   * them started.
+   */
+  private static final class Track {
+
+    private final List<IDirection> directions = new ArrayList<>();
+    private final List<IShape> startStates = new ArrayList<>();
+
+    private void add(IDirection direction, IShape startState) {
+      this.directions.add(direction);
+      this.startStates.add(startState);
+    }
+
+    /**
+     * Binary searches for the last direction that has started by the given frame.
+     *
+     * @param frame The frame to look at.
+     * @return The index of that direction, or -1 if none have started.
+     */
+    private int indexAt(int frame) {
+      int low = 0;
+      int high = this.directions.size() - 1;
+      int found = -1;
+
+      while (low <= high) {
+        int mid = (low + high) >>> 1;
+
+        if (this.directions.get(mid).getStartFrame() <= frame) {
+          found = mid;
+          low = mid + 1;
+        } else {
+          high = mid - 1;
+        }
+      }
+
+      return found;
+    }
+  }
+}
@@ -1,11 +1,20 @@
 package model;
 
 import cs3500.animator.util.AnimationBuilder;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.IntConsumer;
 import model.direction.ColorDirection;
 import model.direction.CreateDirection;
 import model.direction.IDirection;
@@ -14,23 +23,54 @@ import model.direction.ResizeDirection;
 import model.direction.StallDirection;
 import model.shape.CoordinateType;
 import model.shape.IShape;
+import model.shape.ShapeState;
 import model.utils.Pair;
 
 /**
  * Represents a model for a simple animation. Stores all associated shapes and the actions that
  * affect those shapes during the animation runtime.
+ *
+ * <p>Every shape is given an ID when it is added, counting up from 0 in the order the shapes were
+ * added. Names are only turned into IDs where they come in through the public methods; everything
+ * kept about a shape inside the model is stored in a list or array at the shape's ID.</p>
  */
 public class SimpleAnimationModel implements ISimpleAnimationModel {
 
-  private final Map<String, List<IDirection>> directions;
-  private final Map<String, IShape> shapes;
-  private final Map<String, Integer> removalFrames;
+  private static final int DEFAULT_CACHE_WINDOW_SIZE = 256;
+  private static final int DEFAULT_CACHE_MAX_WINDOWS = 16;
+  private static final int PARALLEL_VALIDATION_THRESHOLD = 32;
+  private static final int NO_REMOVAL = -1;
+
+  private Map<String, Integer> shapeIds;
+  private List<IShape> shapes;
+  private List<List<IDirection>> directions;
+  private int[] removalFrames;
+  private Map<Integer, IShape> removedShapes;
+  private Map<Integer, List<IDirection>> removedDirections;
+  private AtomicInteger sharers;
   private boolean animationInitialized;
   private int currentFrame = 0;
+  private boolean played;
   private int maxFrame;
-  private List<IShape> orderedShapes;
 
-  private final Map<String, Map<Integer, IShape>> preRenderedShapes;
+  private final List<ShapeTimeline> timelines;
+  private final List<IShape> blankShapes;
+  private final List<DirectionIndex> directionIndexes;
+  private final Map<Integer, int[]> dirtyFrames;
+  private DirectionIndex directionIndex;
+  private RemovalSchedule removalSchedule;
+  private CompiledAnimation compiledAnimation;
+  private FrameCache frameCache;
+  private int lastRenderedFrame;
+  private int cacheWindowSize = DEFAULT_CACHE_WINDOW_SIZE;
+  private int cacheMaxWindows = DEFAULT_CACHE_MAX_WINDOWS;
+  private long memoryBudget = Long.MAX_VALUE;
+  private Path frameFile;
+  private long frameFileKey;
+  private FrameStore mappedFrames;
+  private Thread frameFileWriter;
+  private ForkJoinPool renderingPool = ForkJoinPool.commonPool();
+  private int safeHorizon = Integer.MAX_VALUE;
 
   private int width = 500;
   private int height = 500;
@@ -42,110 +82,250 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
    * Creates an instance of SimpleAnimation that controls the backend of an animation.
    */
   public SimpleAnimationModel() {
-    this.directions = new HashMap<>();
-    this.shapes = new HashMap<>();
-    this.removalFrames = new HashMap<>();
+    this.shapeIds = new HashMap<>();
+    this.shapes = new ArrayList<>();
+    this.directions = new ArrayList<>();
+    this.removalFrames = new int[0];
+    this.removedShapes = new HashMap<>();
+    this.removedDirections = new HashMap<>();
     this.animationInitialized = false;
     this.maxFrame = 0;
-    this.orderedShapes = new ArrayList<>();
-    this.preRenderedShapes = new HashMap<>();
+    this.sharers = new AtomicInteger(1);
+    this.timelines = new ArrayList<>();
+    this.blankShapes = new ArrayList<>();
+    this.directionIndexes = new ArrayList<>();
+    this.dirtyFrames = new HashMap<>();
   }
 
 
   /**
-   * Create a predefined private model with the given parameters.
+   * Creates a copy of a model that shares its shapes and directions. Neither model may change them
+   * until it has called ensureUnshared.
+   *
+   * @param other The model to copy.
    */
-  private SimpleAnimationModel(Map<String, List<IDirection>> directions, Map<String, IShape> shapes,
-      Map<String, Integer> removalFrames, boolean animationInitialized, int currentFrame,
-      int maxFrame, List<IShape> orderedShapes) {
+  private SimpleAnimationModel(SimpleAnimationModel other) {
+    this.shapeIds = other.shapeIds;
+    this.shapes = other.shapes;
+    this.directions = other.directions;
+    this.removalFrames = other.removalFrames;
+    this.removedShapes = other.removedShapes;
+    this.removedDirections = other.removedDirections;
+    this.sharers = other.sharers;
+    this.sharers.incrementAndGet();
+
+    this.animationInitialized = other.animationInitialized;
+    this.currentFrame = other.currentFrame;
+    this.played = other.played;
+    this.maxFrame = other.maxFrame;
+    this.compiledAnimation = other.compiledAnimation;
+    this.timelines = new ArrayList<>();
+    this.blankShapes = new ArrayList<>();
+    this.directionIndexes = new ArrayList<>();
+    this.dirtyFrames = new HashMap<>();
+    this.cacheWindowSize = other.cacheWindowSize;
+    this.cacheMaxWindows = other.cacheMaxWindows;
+    this.memoryBudget = other.memoryBudget;
+    this.frameFile = other.frameFile;
+    this.frameFileKey = other.frameFileKey;
+    this.renderingPool = other.renderingPool;
+    this.safeHorizon = other.safeHorizon;
+  }
 
-    this.shapes = new HashMap<>();
-    this.directions = new HashMap<>();
-    this.orderedShapes = new ArrayList<>();
+  @Override
+  public ISimpleAnimationModel getCopy() {
+    return new SimpleAnimationModel(this);
+  }
 
-    for (IShape shape : orderedShapes) {
-      String shapeName = shape.getName();
-      IShape newShape = shape.getCopy();
+  /**
+   * Makes sure that no other model shares this model's shapes and directions, so that they can be
+   * changed. Copies share everything until one of them is about to change something, at which
+   * point that model takes its own copy of every shape and direction. Anything that was worked out
+   * from the shared directions is thrown away along with them.
+   */
+  private void ensureUnshared() {
+    if (this.sharers.get() == 1) {
+      return;
+    }
+
+    List<IShape> newShapes = new ArrayList<>();
+    List<List<IDirection>> newDirections = new ArrayList<>();
 
-      this.shapes.put(shapeName, newShape);
-      this.directions.put(shapeName, new ArrayList<>());
-      this.orderedShapes.add(newShape);
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      IShape shape = this.shapes.get(shapeId);
 
-      for (IDirection direction : directions.get(shapeName)) {
-        this.directions.get(shapeName).add(direction.getCopy(newShape));
+      if (shape == null) {
+        newShapes.add(null);
+        newDirections.add(null);
+        continue;
       }
+
+      IShape newShape = shape.getCopy();
+      newShapes.add(newShape);
+      newDirections.add(copyDirections(this.directions.get(shapeId), newShape));
+    }
+
+    Map<Integer, IShape> newRemovedShapes = new HashMap<>();
+    Map<Integer, List<IDirection>> newRemovedDirections = new HashMap<>();
+
+    for (Map.Entry<Integer, IShape> removed : this.removedShapes.entrySet()) {
+      IShape newShape = removed.getValue().getCopy();
+      newRemovedShapes.put(removed.getKey(), newShape);
+      newRemovedDirections.put(removed.getKey(),
+          copyDirections(this.removedDirections.get(removed.getKey()), newShape));
     }
 
-    this.removalFrames = removalFrames;
-    this.animationInitialized = animationInitialized;
-    this.currentFrame = currentFrame;
-    this.maxFrame = maxFrame;
-    this.preRenderedShapes = new HashMap<>();
+    // Only let go of the shared ones once they've been copied, since the last model left sharing
+    // them is free to change them from then on.
+    this.shapeIds = new HashMap<>(this.shapeIds);
+    this.removalFrames = this.removalFrames.clone();
+    this.shapes = newShapes;
+    this.directions = newDirections;
+    this.removedShapes = newRemovedShapes;
+    this.removedDirections = newRemovedDirections;
+    this.sharers.decrementAndGet();
+    this.sharers = new AtomicInteger(1);
+    this.removalSchedule = null;
+    this.clearRendered();
   }
 
-  @Override
-  public ISimpleAnimationModel getCopy() {
-    return new SimpleAnimationModel(
-        this.directions, this.shapes, this.removalFrames, this.animationInitialized,
-        this.currentFrame, this.maxFrame, this.orderedShapes);
+  /**
+   * Stops sharing this model's shapes and directions with its copies, for a copy that is no longer
+   * needed, so that the models still sharing them don't have to copy them before changing them.
+   * The model must not be used afterwards.
+   */
+  private void release() {
+    this.sharers.decrementAndGet();
+  }
+
+  /**
+   * Copies a shape's directions so that they act on another shape.
+   *
+   * @param shapeDirections The directions.
+   * @param shape           The shape the copies act on.
+   * @return The copies, in the same order.
+   */
+  private static List<IDirection> copyDirections(List<IDirection> shapeDirections, IShape shape) {
+    List<IDirection> copies = new ArrayList<>();
+
+    for (IDirection direction : shapeDirections) {
+      copies.add(direction.getCopy(shape));
+    }
+    return copies;
+  }
+
+  /**
+   * Throws away everything that was worked out from the shapes and directions, so that it is all
+   * worked out again the next time it's needed.
+   */
+  private void clearRendered() {
+    this.timelines.clear();
+    this.blankShapes.clear();
+    this.directionIndexes.clear();
+    this.directionIndex = null;
+    this.frameCache = null;
+    this.dirtyFrames.clear();
+    this.dropFrameFile();
+  }
+
+  /**
+   * Stops reading frames from the frame file, since the frames in it no longer match the model.
+   */
+  private void dropFrameFile() {
+    this.frameFile = null;
+    this.mappedFrames = null;
   }
 
   @Override
   public void initializeAnimation() throws IllegalArgumentException, IllegalStateException {
     checkAnimationInitialized();
+    this.ensureUnshared();
 
-    for (String shapeName : directions.keySet()) {
-      List<IDirection> shapeDirections = directions.get(shapeName);
+    List<String> shapeNames = new ArrayList<>();
 
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      shapeNames.add(this.shapes.get(shapeId).getName());
       // Sorts by start frame.
-      Collections.sort(shapeDirections);
+      Collections.sort(this.directions.get(shapeId));
+    }
 
-      // Check for overlaps in directions for this shape.
-      for (int i = 0; i < shapeDirections.size(); i++) {
-        IDirection direction = shapeDirections.get(i);
-
-        this.maxFrame = Math.max(this.maxFrame, direction.getEndFrame());
-
-        // Every direction after the current one, means the second direction will have >= startFrame
-        for (int j = i + 1; j < shapeDirections.size(); j++) {
-          IDirection secondDirection = shapeDirections.get(j);
-
-          if (direction.getType().equals("CREATE")
-              && secondDirection.getStartFrame() <= direction.getEndFrame()) {
-            throw new IllegalArgumentException(
-                String.format("Shape '%s' has a %s change overlap.",
-                    shapeName, direction.getType()));
-          } else if (secondDirection.getStartFrame() >= direction.getEndFrame()) {
-            break;
-          } else if (direction.getType().equals(secondDirection.getType())) {
-            throw new IllegalArgumentException(
-                String.format("Shape '%s' has a %s change overlap.",
-                    shapeName, direction.getType()));
-          }
-        }
-      }
+    ValidationResult result = AnimationValidator.validate(shapeNames, this.directions,
+        shapeNames.size() >= PARALLEL_VALIDATION_THRESHOLD);
+    result.throwIfInvalid();
+    this.maxFrame = Math.max(this.maxFrame, result.getLastFrame());
 
-      // Check for frame gap in directions for this shape.
-      for (int i = 0; i < shapeDirections.size() - 1; i++) {
-        IDirection firstDirection = shapeDirections.get(i);
-        IDirection secondDirection = shapeDirections.get(i + 1);
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      this.maxFrame = Math.max(maxFrame, this.removalFrames[shapeId]);
+    }
 
-        if (firstDirection.getEndFrame() >= secondDirection.getStartFrame()) {
-          continue;
-        }
-        if (firstDirection.getEndFrame() < secondDirection.getStartFrame() - 1) {
-          throw new IllegalArgumentException(
-              String.format("Shape '%s' has a frame gap.", shapeName));
-        }
+    // Prevents more actions from being added.
+    this.animationInitialized = true;
+  }
+
+  @Override
+  public CompiledAnimation getCompiledAnimation() throws IllegalStateException {
+    if (!this.animationInitialized) {
+      throw new IllegalStateException("Model must be initialized before running.");
+    }
+    if (this.compiledAnimation == null) {
+      this.compiledAnimation = this.compile();
+      // Only now does the compiled animation take up any of the memory budget.
+      if (this.frameCache != null) {
+        this.applyMemoryBudget();
+      }
+    }
+    return this.compiledAnimation;
+  }
+
+  /**
+   * Freezes the shapes and directions of the initialized animation as they are right now. Shapes
+   * that playing has removed so far are still part of the animation, so they are frozen too.
+   *
+   * @return The compiled animation.
+   */
+  private CompiledAnimation compile() {
+    List<IShape> liveShapes = new ArrayList<>();
+    List<List<IDirection>> liveDirections = new ArrayList<>();
+    int[] liveRemovalFrames = new int[this.shapes.size()];
+
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      IShape shape = this.shapes.get(shapeId);
+      List<IDirection> shapeDirections = this.directions.get(shapeId);
+
+      if (shape == null) {
+        shape = this.removedShapes.get(shapeId);
+        shapeDirections = this.removedDirections.get(shapeId);
+      }
+      if (shape != null) {
+        liveRemovalFrames[liveShapes.size()] = this.removalFrames[shapeId];
+        liveShapes.add(shape);
+        liveDirections.add(shapeDirections);
       }
     }
 
-    for (int frame : this.removalFrames.values()) {
-      this.maxFrame = Math.max(maxFrame, frame);
+    return new CompiledAnimation(liveShapes, liveDirections,
+        Arrays.copyOf(liveRemovalFrames, liveShapes.size()), this.maxFrame);
+  }
+
+  @Override
+  public ValidationResult validateAnimation() {
+    List<String> shapeNames = new ArrayList<>();
+    List<List<IDirection>> sortedDirections = new ArrayList<>();
+
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      if (this.shapes.get(shapeId) == null) {
+        continue;
+      }
+
+      List<IDirection> shapeDirections = new ArrayList<>(this.directions.get(shapeId));
+      Collections.sort(shapeDirections);
+
+      shapeNames.add(this.shapes.get(shapeId).getName());
+      sortedDirections.add(shapeDirections);
     }
 
-    // Prevents more actions from being added.
-    this.animationInitialized = true;
+    return AnimationValidator.validate(shapeNames, sortedDirections,
+        shapeNames.size() >= PARALLEL_VALIDATION_THRESHOLD);
   }
 
   @Override
@@ -153,31 +333,104 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
     if (!animationInitialized) {
       throw new IllegalStateException("Animation has not been initialized yet.");
     }
+    this.ensureUnshared();
+    this.played = true;
 
-    for (String shapeName : directions.keySet()) {
-      List<IDirection> shapeDirections = directions.get(shapeName);
+    for (IDirection direction : this.getDirectionIndex().getDirectionsAt(this.currentFrame)) {
+      direction.processCommandsAtTick(currentFrame);
+    }
 
-      for (IDirection direction : shapeDirections) {
-        if (direction.getStartFrame() > this.currentFrame) {
-          break;
-        } else if (direction.getEndFrame() < this.currentFrame) {
-          continue;
-        }
+    this.getRemovalSchedule().removeThrough(currentFrame, this::removePlayedShape);
 
-        direction.processCommandsAtTick(currentFrame);
-      }
+    currentFrame++;
+  }
+
+  /**
+   * Gets the schedule of removals for playing the animation, catching it up to the current frame
+   * if it has to be made again.
+   *
+   * @return The removal schedule.
+   */
+  private RemovalSchedule getRemovalSchedule() {
+    if (this.removalSchedule == null) {
+      this.removalSchedule = new RemovalSchedule(this.removalFrames, this.shapes.size(),
+          NO_REMOVAL);
+      this.removalSchedule.removeThrough(this.currentFrame - 1, this::removePlayedShape);
+    }
+    return this.removalSchedule;
+  }
+
+  /**
+   * Takes a shape out of the animation as playback passes its removal, keeping it aside in case
+   * playback seeks back to before it was removed.
+   *
+   * @param shapeId The ID of the shape.
+   */
+  private void removePlayedShape(int shapeId) {
+    if (this.shapes.get(shapeId) == null) {
+      // A schedule that was made again removes the shapes it had already removed once more.
+      return;
     }
 
-    for (String shapeName : this.removalFrames.keySet()) {
-      if (this.removalFrames.get(shapeName) <= currentFrame) {
-        this.orderedShapes.remove(this.shapes.get(shapeName));
-        this.shapes.remove(shapeName);
-        this.directions.remove(shapeName);
-        this.removalFrames.remove(shapeName);
+    this.removedShapes.put(shapeId, this.shapes.get(shapeId));
+    this.removedDirections.put(shapeId, this.directions.get(shapeId));
+    this.shapes.set(shapeId, null);
+    this.directions.set(shapeId, null);
+
+    if (shapeId < this.directionIndexes.size()) {
+      this.directionIndexes.set(shapeId, null);
+    }
+  }
+
+  /**
+   * Puts a shape that playback removed back into the animation.
+   *
+   * @param shapeId The ID of the shape.
+   */
+  private void restorePlayedShape(int shapeId) {
+    this.shapes.set(shapeId, this.removedShapes.remove(shapeId));
+    this.directions.set(shapeId, this.removedDirections.remove(shapeId));
+
+    if (shapeId < this.directionIndexes.size()) {
+      this.directionIndexes.set(shapeId, new DirectionIndex(this.directions.get(shapeId)));
+    }
+  }
+
+  /**
+   * Sets the shapes to how playing the animation from the start with advanceShapes would have left
+   * them on the current frame. Shapes removed by then are taken out and the rest put back, and each
+   * shape is set in place to its state from its timeline after the frame before, since directions
+   * move shapes by the change since the last frame rather than to where they should be. The
+   * directions stay bound to the same shapes, so nothing indexed over them has to be rebuilt.
+   */
+  private void replayShapesToCurrentFrame() {
+    this.ensureUnshared();
+
+    RemovalSchedule schedule = this.getRemovalSchedule();
+    schedule.restoreFrom(this.currentFrame, this::restorePlayedShape);
+    schedule.removeThrough(this.currentFrame - 1, this::removePlayedShape);
+
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      boolean noTimeline = shapeId >= this.timelines.size() || this.timelines.get(shapeId) == null;
+
+      // A shape put back after the timelines were last built doesn't have one yet.
+      if (this.shapes.get(shapeId) != null && !this.timelines.isEmpty() && noTimeline) {
+        this.clearRendered();
+        break;
       }
     }
+    if (this.timelines.isEmpty()) {
+      this.buildTimelines();
+    }
 
-    currentFrame++;
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      IShape shape = this.shapes.get(shapeId);
+
+      if (shape != null) {
+        shape.setState(
+            this.timelines.get(shapeId).getShapeAtFrame(this.currentFrame - 1).getState());
+      }
+    }
   }
 
   @Override
@@ -188,26 +441,52 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
 
   @Override
   public void resetFrame() {
-    this.currentFrame = 0;
+    this.seekToFrame(0);
+  }
+
+  @Override
+  public void seekToFrame(int frame) throws IllegalArgumentException {
+    if (frame < 0) {
+      throw new IllegalArgumentException("Frame cannot be negative.");
+    }
+    this.currentFrame = frame;
+
+    if (this.played) {
+      this.replayShapesToCurrentFrame();
+    }
+  }
+
+  @Override
+  public int getCurrentFrame() {
+    return this.currentFrame;
   }
 
   @Override
   public void initShape(String shapeName, String shapeType)
       throws IllegalArgumentException, IllegalStateException {
     checkAnimationInitialized();
+    this.ensureUnshared();
+    this.clearRendered();
     Map<String, IShape> knownShapes = ModelUtil.getKnownShapes(shapeName);
-    if (this.directions.containsKey(shapeName)) {
+    if (this.shapeIds.containsKey(shapeName)) {
       throw new IllegalArgumentException("Shape with that name already exists.");
     }
 
     IShape shape = knownShapes.getOrDefault(shapeType.toLowerCase(), null);
     if (shape == null) {
       throw new IllegalArgumentException("Shape type doesn't exist.");
-    } else {
-      this.directions.put(shapeName, new ArrayList<>());
-      this.shapes.put(shapeName, shape);
-      this.orderedShapes.add(shape);
     }
+
+    int shapeId = this.shapes.size();
+
+    if (shapeId == this.removalFrames.length) {
+      this.removalFrames = Arrays.copyOf(this.removalFrames, Math.max(8, shapeId * 2));
+      Arrays.fill(this.removalFrames, shapeId, this.removalFrames.length, NO_REMOVAL);
+    }
+
+    this.shapeIds.put(shapeName, shapeId);
+    this.shapes.add(shape);
+    this.directions.add(new ArrayList<>());
   }
 
   @Override
@@ -215,50 +494,50 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
       CoordinateType coordType, int r, int g, int b)
       throws IllegalArgumentException, IllegalStateException {
     checkAnimationInitialized();
+    this.ensureUnshared();
+    this.clearRendered();
 
-    this.checkExistingShapeName(shapeName);
+    int shapeId = this.checkExistingShapeName(shapeName);
 
-    List<IDirection> shapeDirections = this.directions.get(shapeName);
-
-    shapeDirections.add(new CreateDirection(
-        this.shapes.get(shapeName), frame, xPos, yPos, width, height, r, g, b, coordType));
+    this.directions.get(shapeId).add(new CreateDirection(
+        this.shapes.get(shapeId), frame, xPos, yPos, width, height, r, g, b, coordType));
   }
 
   @Override
   public void moveShape(String shapeName, int xPos, int newY, int startFrame, int endFrame)
       throws IllegalArgumentException, IllegalStateException {
     checkAnimationInitialized();
+    this.ensureUnshared();
+    this.clearRendered();
 
-    this.checkValidShape(shapeName, startFrame, endFrame);
-
-    List<IDirection> shapeDirections = this.directions.get(shapeName);
+    int shapeId = this.checkValidShape(shapeName, startFrame, endFrame);
 
-    shapeDirections.add(new MoveDirection(
-        this.shapes.get(shapeName), xPos - xFirst, newY - yFirst, startFrame, endFrame));
+    this.directions.get(shapeId).add(new MoveDirection(
+        this.shapes.get(shapeId), xPos - xFirst, newY - yFirst, startFrame, endFrame));
   }
 
   @Override
   public void stallShape(String shapeName, int startFrame, int endFrame) {
     checkAnimationInitialized();
+    this.ensureUnshared();
+    this.clearRendered();
 
-    this.checkValidShape(shapeName, startFrame, endFrame);
-
-    List<IDirection> shapeDirections = this.directions.get(shapeName);
+    int shapeId = this.checkValidShape(shapeName, startFrame, endFrame);
 
-    shapeDirections.add(new StallDirection(
-        this.shapes.get(shapeName), startFrame, endFrame));
+    this.directions.get(shapeId).add(new StallDirection(
+        this.shapes.get(shapeId), startFrame, endFrame));
   }
 
   @Override
   public void resizeShape(String shapeName, int newWidth, int newHeight,
       int startFrame, int endFrame) throws IllegalArgumentException, IllegalStateException {
     checkAnimationInitialized();
+    this.ensureUnshared();
+    this.clearRendered();
 
-    this.checkValidShape(shapeName, startFrame, endFrame);
+    int shapeId = this.checkValidShape(shapeName, startFrame, endFrame);
 
-    List<IDirection> shapeDirections = this.directions.get(shapeName);
-
-    shapeDirections.add(new ResizeDirection(this.shapes.get(shapeName),
+    this.directions.get(shapeId).add(new ResizeDirection(this.shapes.get(shapeId),
         newWidth, newHeight, startFrame, endFrame));
   }
 
@@ -266,12 +545,12 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
   public void recolorShape(String shapeName, int r, int g, int b, int startFrame, int endFrame)
       throws IllegalArgumentException, IllegalStateException {
     checkAnimationInitialized();
+    this.ensureUnshared();
+    this.clearRendered();
 
-    this.checkValidShape(shapeName, startFrame, endFrame);
-
-    List<IDirection> shapeDirections = this.directions.get(shapeName);
+    int shapeId = this.checkValidShape(shapeName, startFrame, endFrame);
 
-    shapeDirections.add(new ColorDirection(this.shapes.get(shapeName),
+    this.directions.get(shapeId).add(new ColorDirection(this.shapes.get(shapeId),
         r, g, b, startFrame, endFrame));
   }
 
@@ -279,15 +558,17 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
   public void removeShape(String shapeName, int frame)
       throws IllegalArgumentException, IllegalStateException {
     checkAnimationInitialized();
+    this.ensureUnshared();
+    this.clearRendered();
 
-    this.checkExistingShapeName(shapeName);
-    this.checkCompliesWithCreate(shapeName, frame);
+    int shapeId = this.checkExistingShapeName(shapeName);
+    this.checkCompliesWithCreate(shapeId, frame);
 
-    if (this.removalFrames.containsKey(shapeName)) {
+    if (this.removalFrames[shapeId] != NO_REMOVAL) {
       throw new IllegalArgumentException("Shape already has a removal set.");
     }
 
-    List<IDirection> directions = this.directions.get(shapeName);
+    List<IDirection> directions = this.directions.get(shapeId);
     Collections.sort(directions);
 
     if (frame <= directions.get(directions.size() - 1).getEndFrame()) {
@@ -295,28 +576,37 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
           IllegalArgumentException("Removal occurs before all queued directions are complete.");
     }
 
-    this.removalFrames.put(shapeName, frame);
+    this.removalFrames[shapeId] = frame;
   }
 
   @Override
   public Map<String, List<IDirection>> getDirections() {
-    return new HashMap<>(this.directions);
+    Map<String, List<IDirection>> directions = new HashMap<>();
+
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      if (this.shapes.get(shapeId) != null) {
+        directions.put(this.shapes.get(shapeId).getName(), this.directions.get(shapeId));
+      }
+    }
+
+    return directions;
   }
 
   @Override
   public List<IDirection> getDirectionsForShape(String shapeName) throws IllegalArgumentException {
-    List<IDirection> directions = this.directions.getOrDefault(shapeName, null);
+    int shapeId = this.getShapeId(shapeName);
 
-    if (directions == null) {
+    if (shapeId < 0) {
       throw new IllegalArgumentException("Shape doesn't exist.");
     }
 
-    return directions;
+    return this.directions.get(shapeId);
   }
 
   @Override
   public void removeDirection(String shapeName, String directionType, int startFrame, int endFrame)
       throws IllegalArgumentException {
+    this.ensureUnshared();
 
     List<IDirection> directions = this.getDirectionsForShape(shapeName);
 
@@ -332,6 +622,7 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
           && direction.getStartFrame() == startFrame
           && direction.getEndFrame() == endFrame) {
         directions.remove(i);
+        this.directionChanged(this.getShapeId(shapeName), direction);
         return;
       }
     }
@@ -339,12 +630,201 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
     throw new IllegalArgumentException("Direction not found.");
   }
 
+  @Override
+  public void editMove(String shapeName, int startFrame, int endFrame, int newX, int newY)
+      throws IllegalArgumentException {
+    this.replaceDirection(shapeName, "MOVE", startFrame, endFrame, shape ->
+        new MoveDirection(shape, newX - xFirst, newY - yFirst, startFrame, endFrame));
+  }
+
+  @Override
+  public void editResize(String shapeName, int startFrame, int endFrame, int newWidth,
+      int newHeight) throws IllegalArgumentException {
+    this.replaceDirection(shapeName, "RESIZE", startFrame, endFrame, shape ->
+        new ResizeDirection(shape, newWidth, newHeight, startFrame, endFrame));
+  }
+
+  @Override
+  public void editRecolor(String shapeName, int startFrame, int endFrame, int r, int g, int b)
+      throws IllegalArgumentException {
+    this.replaceDirection(shapeName, "COLOR", startFrame, endFrame, shape ->
+        new ColorDirection(shape, r, g, b, startFrame, endFrame));
+  }
+
+  /**
+   * Swaps out one of a shape's directions for a new one over the same frames.
+   *
+   * @param shapeName     The name of the shape.
+   * @param directionType The type of the direction to replace.
+   * @param startFrame    The frame the direction starts on.
+   * @param endFrame      The frame the direction ends on.
+   * @param replacement   Makes the new direction for the shape.
+   * @throws IllegalArgumentException If the shape or direction doesn't exist, or the new direction
+   *                                  is invalid.
+   */
+  private void replaceDirection(String shapeName, String directionType, int startFrame,
+      int endFrame, Function<IShape, IDirection> replacement) throws IllegalArgumentException {
+    this.ensureUnshared();
+
+    List<IDirection> directions = this.getDirectionsForShape(shapeName);
+    int shapeId = this.getShapeId(shapeName);
+
+    for (int i = 0; i < directions.size(); i++) {
+      IDirection direction = directions.get(i);
+
+      if (direction.getType().equals(directionType)
+          && direction.getStartFrame() == startFrame
+          && direction.getEndFrame() == endFrame) {
+        directions.set(i, replacement.apply(this.shapes.get(shapeId)));
+        this.directionChanged(shapeId, direction);
+        return;
+      }
+    }
+
+    throw new IllegalArgumentException("Direction not found.");
+  }
+
+  /**
+   * Keeps everything worked out from a shape's directions up to date after one of them has been
+   * removed or replaced. Only the frames from the start of that direction to the end of the next
+   * direction of the same type can look any different, since the next one still ends where it
+   * always did. Those frames are marked as dirty and rendered again the next time a frame is looked
+   * up. Before the animation is initialized, everything is simply thrown away instead.
+   *
+   * @param shapeId The ID of the shape.
+   * @param changed The direction as it was before it was changed.
+   */
+  private void directionChanged(int shapeId, IDirection changed) {
+    IDirection next = null;
+
+    for (IDirection direction : this.directions.get(shapeId)) {
+      if (direction.getType().equals(changed.getType()) && direction.compareTo(changed) > 0
+          && (next == null || direction.compareTo(next) < 0)) {
+        next = direction;
+      }
+    }
+
+    // The next direction starts from wherever the changed one left the shape.
+    if (next != null) {
+      next.resetSubCommands();
+    }
+
+    this.directionIndex = null;
+    this.directionIndexes.clear();
+    this.compiledAnimation = null;
+    this.dropFrameFile();
+
+    if (!this.animationInitialized) {
+      this.clearRendered();
+      return;
+    }
+
+    int fromFrame = changed.getStartFrame();
+    int toFrame = next == null ? this.maxFrame : next.getEndFrame();
+    int[] dirty = this.dirtyFrames.getOrDefault(shapeId, null);
+
+    if (dirty == null) {
+      this.dirtyFrames.put(shapeId, new int[]{fromFrame, toFrame});
+    } else {
+      dirty[0] = Math.min(dirty[0], fromFrame);
+      dirty[1] = Math.max(dirty[1], toFrame);
+    }
+  }
+
+  /**
+   * Rebuilds the timeline of every shape with dirty frames, and renders those frames again in any
+   * cached window that holds them. Shapes whose timelines haven't been built yet are skipped, since
+   * they're built from the current directions anyway.
+   */
+  private void renderDirtyFrames() {
+    for (Map.Entry<Integer, int[]> entry : this.dirtyFrames.entrySet()) {
+      int shapeId = entry.getKey();
+
+      if (shapeId >= this.timelines.size() || this.shapes.get(shapeId) == null) {
+        continue;
+      }
+
+      this.timelines.set(shapeId,
+          new ShapeTimeline(this.blankShapes.get(shapeId), this.directions.get(shapeId)));
+
+      if (this.frameCache != null) {
+        this.frameCache.rerender(entry.getValue()[0], entry.getValue()[1],
+            (store, firstFrame, frameCount) ->
+                this.renderShape(store, shapeId, firstFrame, frameCount));
+      }
+    }
+
+    this.dirtyFrames.clear();
+
+    if (this.frameCache != null) {
+      this.applyMemoryBudget();
+    }
+  }
+
+  @Override
+  public List<IDirection> getDirectionsAtFrame(int frame) {
+    return this.getDirectionIndex().getDirectionsAt(frame);
+  }
+
+  @Override
+  public List<IDirection> getDirectionsAtFrame(String shapeName, int frame)
+      throws IllegalArgumentException {
+    this.getDirectionIndex();
+    int shapeId = this.getShapeId(shapeName);
+
+    if (shapeId < 0) {
+      throw new IllegalArgumentException("Shape doesn't exist.");
+    }
+
+    return this.directionIndexes.get(shapeId).getDirectionsAt(frame);
+  }
+
+  @Override
+  public List<Integer> getDirectionBoundaries() {
+    return this.getDirectionIndex().getBoundaries();
+  }
+
+  /**
+   * Gets the index of every shape's directions, building it along with the index of each shape if
+   * needed. Until the animation is initialized directions can still be added, so the indexes are
+   * rebuilt every time. Shapes that playing has removed so far are still indexed, so that the index
+   * still holds once seeking puts them back.
+   *
+   * @return The index of every direction in the model.
+   */
+  private DirectionIndex getDirectionIndex() {
+    if (this.directionIndex != null && this.animationInitialized) {
+      return this.directionIndex;
+    }
+
+    List<IDirection> allDirections = new ArrayList<>();
+    this.directionIndexes.clear();
+
+    for (int shapeId = 0; shapeId < this.directions.size(); shapeId++) {
+      List<IDirection> shapeDirections = this.directions.get(shapeId);
+
+      if (shapeDirections == null) {
+        this.directionIndexes.add(null);
+        allDirections.addAll(this.removedDirections.getOrDefault(shapeId, Collections.emptyList()));
+        continue;
+      }
+
+      allDirections.addAll(shapeDirections);
+      this.directionIndexes.add(new DirectionIndex(shapeDirections));
+    }
+
+    this.directionIndex = new DirectionIndex(allDirections);
+    return this.directionIndex;
+  }
+
   @Override
   public List<IShape> getShapes() {
     List<IShape> shapes = new ArrayList<>();
 
-    for (IShape shape : this.orderedShapes) {
-      shapes.add(shape.getCopy());
+    for (IShape shape : this.shapes) {
+      if (shape != null) {
+        shapes.add(shape.getCopy());
+      }
     }
 
     return shapes;
@@ -358,9 +838,18 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
   @Override
   public List<IShape> getShapesAtFrame(int frame) {
     List<IShape> shapesAtCurrentFrame = new ArrayList<>();
+    FrameStore window = this.getRenderedWindow(frame);
+
+    if (window == null) {
+      return shapesAtCurrentFrame;
+    }
+
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      if (this.shapes.get(shapeId) == null) {
+        continue;
+      }
 
-    for (IShape shape : this.orderedShapes) {
-      IShape tempShape = this.getShapeAtFrame(shape.getName(), frame);
+      IShape tempShape = window.getShape(shapeId, frame, this.blankShapes.get(shapeId));
 
       if (tempShape != null) {
         shapesAtCurrentFrame.add(tempShape);
@@ -370,42 +859,375 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
     return shapesAtCurrentFrame;
   }
 
+  @Override
+  public List<List<IShape>> getShapesInRange(int fromFrame, int toFrame) {
+    List<List<IShape>> frames = new ArrayList<>();
+    int step = fromFrame <= toFrame ? 1 : -1;
+
+    for (int frame = fromFrame; frame != toFrame + step; frame += step) {
+      frames.add(this.getShapesAtFrame(frame));
+    }
+
+    return frames;
+  }
+
+  @Override
+  public List<ShapeChange> getChangesAtFrame(int frame) {
+    List<ShapeChange> changes = new ArrayList<>();
+    FrameStore previousWindow = this.getRenderedWindow(frame - 1);
+    FrameStore window = this.getRenderedWindow(frame);
+
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      if (this.shapes.get(shapeId) == null) {
+        continue;
+      }
+
+      ShapeState previous = previousWindow == null ? null
+          : previousWindow.getState(shapeId, frame - 1);
+      ShapeState current = window == null ? null : window.getState(shapeId, frame);
+
+      // Frames where a shape doesn't change share one state, so this is usually just ==.
+      if (!Objects.equals(previous, current)) {
+        changes.add(new ShapeChange(this.shapes.get(shapeId).getName(), previous, current));
+      }
+    }
+
+    return changes;
+  }
+
   @Override
   public IShape getShapeAtFrame(String shapeName, int frame) {
-    if (this.preRenderedShapes.keySet().size() == 0) {
-      this.preRenderShapes();
+    FrameStore window = this.getRenderedWindow(frame);
+    int shapeId = this.getShapeId(shapeName);
+
+    if (window == null || shapeId < 0) {
+      return null;
+    }
+
+    return window.getShape(shapeId, frame, this.blankShapes.get(shapeId));
+  }
+
+  /**
+   * Gets the rendered window holding a frame, setting up the frame cache and rendering any dirty
+   * frames first.
+   *
+   * @param frame The frame.
+   * @return The window holding the frame, or null if the frame is outside of the animation.
+   * @throws IllegalArgumentException If the model has frame gaps or overlaps.
+   */
+  private FrameStore getRenderedWindow(int frame) throws IllegalArgumentException {
+    if (!this.dirtyFrames.isEmpty()) {
+      this.renderDirtyFrames();
+    }
+    if (this.frameCache == null) {
+      this.setUpFrameCache();
+    }
+
+    if (frame < 0 || frame > this.lastRenderedFrame) {
+      return null;
+    }
+    if (this.mappedFrames != null) {
+      return this.mappedFrames;
+    }
+
+    return this.frameCache.getWindow(frame);
+  }
+
+  @Override
+  public void setFrameCacheSize(int windowSize, int maxWindows) throws IllegalArgumentException {
+    if (windowSize < 1 || maxWindows < 1) {
+      throw new IllegalArgumentException("Frame cache windows must hold at least one frame.");
     }
 
-    return this.preRenderedShapes.get(shapeName).getOrDefault(frame, null);
+    this.cacheWindowSize = windowSize;
+    this.cacheMaxWindows = maxWindows;
+    this.frameCache = null;
+  }
+
+  @Override
+  public void setSafeHorizon(int frame) throws IllegalArgumentException {
+    if (frame < 0) {
+      throw new IllegalArgumentException("Safe horizon cannot be negative.");
+    }
+    this.safeHorizon = frame;
+  }
+
+  @Override
+  public int getSafeHorizon() {
+    return this.safeHorizon;
+  }
+
+  @Override
+  public void setRenderingPool(ForkJoinPool pool) {
+    this.renderingPool = pool;
+  }
+
+  @Override
+  public FrameCacheStatistics getFrameCacheStatistics() {
+    if (this.frameCache == null) {
+      return new FrameCacheStatistics(0, 0, 0, 0, 0, this.cacheWindowSize, this.cacheMaxWindows);
+    }
+    return this.frameCache.getStatistics();
   }
 
   /**
-   * Renders a model and updates all the shapes and directions.
+   * Sets up an empty frame cache, building the shapes' timelines first if they haven't been built.
+   *
+   * @throws IllegalArgumentException If the model has frame gaps or overlaps.
    */
-  private void preRenderShapes() {
-    ISimpleAnimationModel tempModel = this.getCopy();
+  private void setUpFrameCache() throws IllegalArgumentException {
+    if (this.timelines.isEmpty()) {
+      this.buildTimelines();
+    }
+
+    this.frameCache = new FrameCache(this.cacheWindowSize, this.cacheMaxWindows,
+        this.blankShapes.size(), this::renderWindow);
+    this.applyMemoryBudget();
+
+    if (this.frameFile != null) {
+      this.mapFrameFile();
+    }
+  }
+
+  @Override
+  public void setFrameFile(Path file, long inputHash) {
+    this.frameFile = file;
+    this.frameFileKey = inputHash;
+    this.mappedFrames = null;
+
+    if (this.frameCache != null) {
+      this.mapFrameFile();
+    }
+  }
+
+  /**
+   * Maps the frame file if it was written for this input and animation. Otherwise frames keep
+   * being rendered into the frame cache as usual, and the file is written on a background thread
+   * for the next run to map, since writing it renders the whole animation.
+   */
+  private void mapFrameFile() {
+    IShape[] blanks = this.blankShapes.toArray(new IShape[0]);
+    int frameCount = this.lastRenderedFrame + 1;
 
     try {
-      tempModel.initializeAnimation();
-    } catch (IllegalStateException e) {
-      e.getMessage();
+      this.mappedFrames = FrameFile.map(this.frameFile, this.frameFileKey, blanks, frameCount);
+    } catch (IOException e) {
+      this.dropFrameFile();
+      return;
     }
 
-    for (IShape shape : tempModel.getShapes()) {
-      this.preRenderedShapes.put(shape.getName(), new HashMap<>());
+    if (this.mappedFrames == null) {
+      this.writeFrameFileInBackground();
     }
+  }
 
-    for (int i = 0; i <= tempModel.getMaximumFrame(); i++) {
-      tempModel.advanceShapes();
+  /**
+   * Starts writing the frame file from a copy of the model as it is now. The copy shares this
+   * model's shapes and directions until either one changes them, so changes made while the file
+   * is being written don't end up in it.
+   */
+  private void writeFrameFileInBackground() {
+    SimpleAnimationModel snapshot = new SimpleAnimationModel(this);
+    snapshot.frameFile = null;
+    Path file = this.frameFile;
+    long key = this.frameFileKey;
+
+    this.frameFileWriter = new Thread(() -> {
+      try {
+        snapshot.buildTimelines();
+        FrameFile.write(file, key, snapshot.blankShapes.toArray(new IShape[0]),
+            snapshot.lastRenderedFrame + 1, snapshot::renderWindow);
+      } catch (IOException | RuntimeException e) {
+        // The file is only there to save time, so this run just goes without it.
+      } finally {
+        snapshot.release();
+      }
+    }, "frame-file-writer");
+    this.frameFileWriter.setDaemon(true);
+    this.frameFileWriter.start();
+  }
 
-      for (IShape shape: tempModel.getShapes()) {
-        Map<Integer, IShape> newMap = this.preRenderedShapes.get(shape.getName());
+  /**
+   * Waits for the frame file to finish being written, if it is being written.
+   *
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  void awaitFrameFile() throws InterruptedException {
+    if (this.frameFileWriter != null) {
+      this.frameFileWriter.join();
+    }
+  }
+
+  @Override
+  public void setMemoryBudget(long bytes) throws IllegalArgumentException {
+    if (bytes < 0) {
+      throw new IllegalArgumentException("Memory budget cannot be negative.");
+    }
+
+    this.memoryBudget = bytes;
+
+    if (this.frameCache != null) {
+      this.applyMemoryBudget();
+    }
+  }
 
-        newMap.put(i, shape);
+  @Override
+  public long getMemoryBudget() {
+    return this.memoryBudget;
+  }
 
-        this.preRenderedShapes.put(shape.getName(), newMap);
+  @Override
+  public long getMemoryFootprint() {
+    return this.getFixedFootprint()
+        + (this.frameCache == null ? 0 : this.frameCache.getFootprint());
+  }
+
+  /**
+   * Gives the frame cache whatever is left of the memory budget after everything the model can't
+   * do without, throwing away cached windows if they no longer fit.
+   */
+  private void applyMemoryBudget() {
+    this.frameCache.setMemoryBudget(Math.max(0, this.memoryBudget - this.getFixedFootprint()));
+  }
+
+  /**
+   * Estimates how much memory everything other than the rendered frames takes: the shapes, their
+   * directions, the timelines worked out from them and the compiled animation.
+   *
+   * @return The size in bytes.
+   */
+  private long getFixedFootprint() {
+    long footprint = Footprints.intArray(this.removalFrames.length)
+        + this.blankShapes.size() * Footprints.SHAPE;
+
+    // Removed shapes leave nulls behind, which take up nothing but their slot.
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      if (this.shapes.get(shapeId) != null) {
+        footprint += Footprints.SHAPE
+            + this.directions.get(shapeId).size() * Footprints.DIRECTION;
+      }
+    }
+    for (ShapeTimeline timeline : this.timelines) {
+      if (timeline != null) {
+        footprint += timeline.getFootprint();
       }
     }
+    if (this.compiledAnimation != null) {
+      footprint += this.compiledAnimation.getFootprint();
+    }
+
+    return footprint;
+  }
+
+  /**
+   * Fills a frame store with every shape on every frame it holds, working each frame out from the
+   * shapes' timelines. Frames past the end of the animation are left empty.
+   *
+   * @param store      The store to fill.
+   * @param firstFrame The first frame the store holds.
+   * @param frameCount How many frames the store holds.
+   */
+  private void renderWindow(FrameStore store, int firstFrame, int frameCount) {
+    // Each shape only writes to its own slots, so shapes can be rendered at the same time.
+    this.forEachShape(shapeId -> this.renderShape(store, shapeId, firstFrame, frameCount));
+  }
+
+  /**
+   * Fills a range of frames of a store with a single shape, working each frame out from the shape's
+   * timeline. Frames past the end of the animation or the shape's removal are left as they are.
+   *
+   * @param store      The store to fill.
+   * @param shapeId    The ID of the shape.
+   * @param firstFrame The first frame to fill.
+   * @param frameCount How many frames to fill.
+   */
+  private void renderShape(FrameStore store, int shapeId, int firstFrame, int frameCount) {
+    ShapeTimeline timeline = this.timelines.get(shapeId);
+    int lastFrame = Math.min(this.lastRenderedFrame, firstFrame + frameCount - 1);
+
+    if (this.removalFrames[shapeId] != NO_REMOVAL) {
+      lastFrame = Math.min(lastFrame, this.removalFrames[shapeId] - 1);
+    }
+
+    for (int frame = firstFrame; frame <= lastFrame; frame++) {
+      store.put(shapeId, frame, timeline.getShapeAtFrame(frame));
+    }
+  }
+
+  /**
+   * Builds the timeline of every shape so that any frame can be looked up without replaying the
+   * animation. If the animation hasn't been initialized yet, the directions are checked and sorted
+   * on the side, leaving the model itself untouched.
+   *
+   * @throws IllegalArgumentException If the model has frame gaps or overlaps.
+   */
+  private void buildTimelines() throws IllegalArgumentException {
+    int lastFrame = 0;
+    List<List<IDirection>> sortedDirections = new ArrayList<>();
+
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      IShape shape = this.shapes.get(shapeId);
+
+      if (shape == null) {
+        this.blankShapes.add(null);
+        sortedDirections.add(null);
+        continue;
+      }
+
+      String shapeName = shape.getName();
+      List<IDirection> shapeDirections = this.directions.get(shapeId);
+
+      if (!this.animationInitialized) {
+        shapeDirections = new ArrayList<>(shapeDirections);
+        Collections.sort(shapeDirections);
+        ValidationResult result = AnimationValidator.validateShape(shapeName, shapeDirections);
+        result.throwIfInvalid();
+        lastFrame = Math.max(lastFrame, result.getLastFrame());
+        lastFrame = Math.max(lastFrame, this.removalFrames[shapeId]);
+      }
+
+      this.blankShapes.add(ModelUtil.getKnownShapes(shapeName)
+          .get(shape.getShapeType().toLowerCase()));
+      sortedDirections.add(shapeDirections);
+    }
+
+    // Folding a shape's directions into its timeline only touches that shape's directions.
+    ShapeTimeline[] builtTimelines = new ShapeTimeline[this.blankShapes.size()];
+    this.forEachShape(shapeId -> builtTimelines[shapeId] =
+        new ShapeTimeline(this.blankShapes.get(shapeId), sortedDirections.get(shapeId)));
+
+    this.timelines.addAll(Arrays.asList(builtTimelines));
+    this.lastRenderedFrame = this.animationInitialized ? this.maxFrame : lastFrame;
+  }
+
+  /**
+   * Runs a task once for the ID of every shape still in the model. The shapes are split up across
+   * the rendering pool if there is one, otherwise they are run one after another on this thread.
+   * Either way, this only returns once every shape is done.
+   *
+   * @param task The task to run for each shape.
+   */
+  private void forEachShape(IntConsumer task) {
+    List<ForkJoinTask<?>> tasks = new ArrayList<>();
+
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      if (this.shapes.get(shapeId) == null) {
+        continue;
+      }
+
+      if (this.renderingPool == null) {
+        task.accept(shapeId);
+      } else {
+        int id = shapeId;
+        tasks.add(ForkJoinTask.adapt(() -> task.accept(id)));
+      }
+    }
+
+    if (tasks.size() == 1) {
+      tasks.get(0).invoke();
+    } else if (!tasks.isEmpty()) {
+      this.renderingPool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+    }
   }
 
   /**
@@ -418,45 +1240,61 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
     }
   }
 
+  /**
+   * Looks up the ID that a shape was given when it was added.
+   *
+   * @param shapeName The name of the shape.
+   * @return The ID of the shape, or -1 if there is no shape with that name in the model.
+   */
+  private int getShapeId(String shapeName) {
+    Integer shapeId = this.shapeIds.get(shapeName);
+    return shapeId == null || this.shapes.get(shapeId) == null ? -1 : shapeId;
+  }
+
   /**
    * Checks a variety of parameters about a given shape name to check if we can add a direction.
    *
    * @param shapeName  The name of the shape.
    * @param startFrame The frame the direction would start on.
    * @param endFrame   The frame the direction would end on.
+   * @return The ID of the shape.
    * @throws IllegalArgumentException If the valid parameters aren't met.
    */
-  private void checkValidShape(String shapeName, int startFrame, int endFrame)
+  private int checkValidShape(String shapeName, int startFrame, int endFrame)
       throws IllegalArgumentException {
-    this.checkExistingShapeName(shapeName);
-    this.checkAfterRemovalFrame(shapeName, startFrame, endFrame);
-    this.checkCompliesWithCreate(shapeName, startFrame);
+    int shapeId = this.checkExistingShapeName(shapeName);
+    this.checkAfterRemovalFrame(shapeId, startFrame, endFrame);
+    this.checkCompliesWithCreate(shapeId, startFrame);
+    return shapeId;
   }
 
   /**
    * Checks if a shape has been init'ed with the given name.
    *
    * @param shapeName The shape of the name.
+   * @return The ID of the shape.
    * @throws IllegalArgumentException If the shape hasn't been init'ed.
    */
-  private void checkExistingShapeName(String shapeName) throws IllegalArgumentException {
-    if (!this.directions.containsKey(shapeName)) {
+  private int checkExistingShapeName(String shapeName) throws IllegalArgumentException {
+    int shapeId = this.getShapeId(shapeName);
+    if (shapeId < 0) {
       throw new IllegalArgumentException("No shape with that name exists.");
     }
+    return shapeId;
   }
 
   /**
    * Check that the direction wouldn't exist after a removal direction.
    *
-   * @param shapeName  The name of the shape.
+   * @param shapeId    The ID of the shape.
    * @param startFrame The start frame of the proposed direction.
    * @param endFrame   THe end frame of the proposed direction.
    * @throws IllegalArgumentException If it would take place after a removal.
    */
-  private void checkAfterRemovalFrame(String shapeName, int startFrame, int endFrame)
+  private void checkAfterRemovalFrame(int shapeId, int startFrame, int endFrame)
       throws IllegalArgumentException {
-    Integer removalFrame = this.removalFrames.getOrDefault(shapeName, null);
-    if (removalFrame == null) {
+    int removalFrame = this.removalFrames[shapeId];
+    if (removalFrame == NO_REMOVAL) {
       return;
     }
 
@@ -468,15 +1306,12 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
   /**
    * Check that the direction takes place after a create.
    *
-   * @param shapeName  The name of the shape.
+   * @param shapeId    The ID of the shape.
    * @param startFrame The start frame of the proposed direction.
    * @throws IllegalArgumentException If it would take before a create.
    */
-  private void checkCompliesWithCreate(String shapeName, int startFrame) {
-    List<IDirection> directions = this.directions.getOrDefault(shapeName, null);
-    if (directions == null) {
-      return;
-    }
+  private void checkCompliesWithCreate(int shapeId, int startFrame) {
+    List<IDirection> directions = this.directions.get(shapeId);
 
     if (directions.size() == 0) {
       throw new IllegalArgumentException("Create direction hasn't been queued yet.");
@@ -515,9 +1350,70 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
     return new Pair<>(this.width, this.height);
   }
 
+  @Override
+  public Pair<Integer, Integer> getTopCoord() {
+    return new Pair<>(this.xFirst, this.yFirst);
+  }
+
   @Override
   public IShape getShape(String shapeName) {
-    return shapes.get(shapeName).getCopy();
+    return shapes.get(shapeIds.get(shapeName)).getCopy();
+  }
+
+  @Override
+  public ShapeState getShapeState(String shapeName) throws IllegalArgumentException {
+    int shapeId = this.getShapeId(shapeName);
+
+    if (shapeId < 0) {
+      throw new IllegalArgumentException("Shape doesn't exist.");
+    }
+
+    return this.shapes.get(shapeId).getState();
+  }
+
+  @Override
+  public List<ShapeState> getShapeStates() {
+    List<ShapeState> states = new ArrayList<>();
+
+    for (IShape shape : this.shapes) {
+      if (shape != null) {
+        states.add(shape.getState());
+      }
+    }
+
+    return states;
+  }
+
+  @Override
+  public List<ShapeState> getShapeStatesAtFrame(int frame) {
+    List<ShapeState> states = new ArrayList<>();
+    FrameStore window = this.getRenderedWindow(frame);
+
+    if (window == null) {
+      return states;
+    }
+
+    for (int shapeId = 0; shapeId < this.shapes.size(); shapeId++) {
+      ShapeState state = this.shapes.get(shapeId) == null ? null : window.getState(shapeId, frame);
+
+      if (state != null) {
+        states.add(state);
+      }
+    }
+
+    return states;
+  }
+
+  @Override
+  public ShapeState getShapeStateAtFrame(String shapeName, int frame) {
+    FrameStore window = this.getRenderedWindow(frame);
+    int shapeId = this.getShapeId(shapeName);
+
+    if (window == null || shapeId < 0) {
+      return null;
+    }
+
+    return window.getState(shapeId, frame);
   }
 
 
@@ -528,12 +1424,38 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
   public static final class Builder implements AnimationBuilder<ISimpleAnimationModel> {
 
     private final ISimpleAnimationModel model = new SimpleAnimationModel();
+    private int horizon = 0;
+    private boolean timeOrdered = true;
 
     @Override
     public ISimpleAnimationModel build() {
       return model;
     }
 
+    /**
+     * Gets the first frame that motions still to come could change. As long as motions come in
+     * order of their start time, every motion still to come starts no earlier than the last one
+     * did, so every frame before that start is final. Once a motion comes out of order, no frame
+     * can be counted on until the whole animation is read.
+     *
+     * @return The first frame that isn't final yet.
+     */
+    public int getSafeHorizon() {
+      return this.timeOrdered ? this.horizon : 0;
+    }
+
+    /**
+     * Takes a copy of the animation built so far, so that it can be played while the rest is still
+     * being read.
+     *
+     * @return A copy of the animation so far, with its safe horizon set.
+     */
+    public ISimpleAnimationModel snapshot() {
+      ISimpleAnimationModel copy = model.getCopy();
+      copy.setSafeHorizon(this.getSafeHorizon());
+      return copy;
+    }
+
     @Override
     public AnimationBuilder<ISimpleAnimationModel> setBounds(int x, int y, int width, int height) {
       model.setBoundaries(width, height);
@@ -553,6 +1475,9 @@ public class SimpleAnimationModel implements ISimpleAnimationModel {
         int w1, int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2,
         int g2, int b2) {
 
+      this.timeOrdered &= t1 >= this.horizon;
+      this.horizon = Math.max(this.horizon, t1);
+
       if (model.getDirectionsForShape(name).size() == 0) {
 
         CoordinateType coordType = ModelUtil.coordtypes().get(model.getShape(name).getShapeType());
@@ -0,0 +1,165 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of checking an animation's directions for overlaps and frame gaps. Rather than
+ * stopping at the first problem, every problem that was found is kept, in the order that the
+ * shapes and their directions were checked.
+ */
+public final class ValidationResult {
+
+  /**
+   * The kinds of problems an animation can have.
+   */
+  public enum Kind {
+    OVERLAP, GAP
+  }
+
+  /**
+   * A single problem with a shape's directions.
+   */
+  public static final class Problem {
+
+    private final Kind kind;
+    private final String shapeName;
+    private final String directionType;
+    private final int startFrame;
+    private final int endFrame;
+
+    /**
+     * Creates a problem.
+     *
+     * @param kind          Whether directions overlap or leave a gap.
+     * @param shapeName     The name of the shape with the problem.
+     * @param directionType The type of the overlapping directions, or null for a gap.
+     * @param startFrame    The first frame of the overlap or gap.
+     * @param endFrame      The last frame of the overlap or gap.
+     */
+    public Problem(Kind kind, String shapeName, String directionType, int startFrame,
+        int endFrame) {
+      this.kind = kind;
+      this.shapeName = shapeName;
+      this.directionType = directionType;
+      this.startFrame = startFrame;
+      this.endFrame = endFrame;
+    }
+
+    /**
+     * Gets whether directions overlap or leave a gap.
+     *
+     * @return The kind of problem.
+     */
+    public Kind getKind() {
+      return this.kind;
+    }
+
+    /**
+     * Gets the name of the shape with the problem.
+     *
+     * @return The name of the shape.
+     */
+    public String getShapeName() {
+      return this.shapeName;
+    }
+
+    /**
+     * Gets the type of the overlapping directions.
+     *
+     * @return The type of the directions, or null if this is a gap.
+     */
+    public String getDirectionType() {
+      return this.directionType;
+    }
+
+    /**
+     * Gets the first frame of the overlap or gap.
+     *
+     * @return The first frame.
+     */
+    public int getStartFrame() {
+      return this.startFrame;
+    }
+
+    /**
+     * Gets the last frame of the overlap or gap.
+     *
+     * @return The last frame.
+     */
+    public int getEndFrame() {
+      return this.endFrame;
+    }
+
+    /**
+     * Describes the problem the same way initializeAnimation does when it fails.
+     *
+     * @return The description of the problem.
+     */
+    public String getMessage() {
+      if (this.kind == Kind.GAP) {
+        return String.format("Shape '%s' has a frame gap.", this.shapeName);
+      }
+      return String.format("Shape '%s' has a %s change overlap.",
+          this.shapeName, this.directionType);
+    }
+
+    @Override
+    public String toString() {
+      return String.format("%s (frames %d to %d)", this.getMessage(), startFrame, endFrame);
+    }
+  }
+
+  private final List<Problem> problems;
+  private final int lastFrame;
+
+  /**
+   * Creates the result of a check.
+   *
+   * @param problems  Every problem that was found, in the order they were found.
+   * @param lastFrame The last frame that any of the checked directions end on.
+   */
+  public ValidationResult(List<Problem> problems, int lastFrame) {
+    this.problems = Collections.unmodifiableList(new ArrayList<>(problems));
+    this.lastFrame = lastFrame;
+  }
+
+  /**
+   * Whether the animation has no problems.
+   *
+   * @return true if no problems were found.
+   */
+  public boolean isValid() {
+    return this.problems.isEmpty();
+  }
+
+  /**
+   * Gets every problem that was found.
+   *
+   * @return The problems, in the order they were found.
+   */
+  public List<Problem> getProblems() {
+    return this.problems;
+  }
+
+  /**
+   * Gets the last frame that any of the checked directions end on.
+   *
+   * @return The last frame.
+   */
+  public int getLastFrame() {
+    return this.lastFrame;
+  }
+
+  /**
+   * Fails the same way initializeAnimation does if any problem was found.
+   *
+   * @throws IllegalArgumentException With the message of the first problem, if there is one.
+   */
+  public void throwIfInvalid() throws IllegalArgumentException {
+    if (!this.problems.isEmpty()) {
+      throw new IllegalArgumentException(this.problems.get(0).getMessage());
+    }
+  }
+}
@@ -55,6 +55,11 @@ public abstract class AbstractDirection implements IDirection {
     return this.startFrame - direction.getStartFrame();
   }
 
+  @Override
+  public void resetSubCommands() {
+    // Most directions don't work anything out ahead of time.
+  }
+
   @Override
   public String getType() {
     return type;
@@ -1,9 +1,7 @@
 package model.direction;
 
-import java.util.HashMap;
-import java.util.Map;
 import model.shape.IShape;
-import model.utils.Triplet;
+import model.utils.ColorUtils;
 
 /**
  * Represents a direction on a shape that changes the color of the shape during an interval.
@@ -13,7 +11,7 @@ public class ColorDirection extends AbstractDirection implements IDirection {
   private final int r;
   private final int g;
   private final int b;
-  private final Map<Integer, Triplet<Integer, Integer, Integer>> subCommands;
+  private final SubCommandTable subCommands;
 
   /**
    * Sets up a direction for changing the color of a shape.
@@ -32,11 +30,11 @@ public class ColorDirection extends AbstractDirection implements IDirection {
     this.r = r;
     this.g = g;
     this.b = b;
-    this.subCommands = new HashMap<>();
+    this.subCommands = new SubCommandTable(startFrame, endFrame);
   }
 
   private ColorDirection(IShape shape, int r, int g, int b, int startFrame, int endFrame,
-      Map<Integer, Triplet<Integer, Integer, Integer>> subCommands) {
+      SubCommandTable subCommands) {
     super(shape, startFrame, endFrame, "COLOR");
     this.r = r;
     this.g = g;
@@ -45,63 +43,84 @@ public class ColorDirection extends AbstractDirection implements IDirection {
   }
 
   /**
-   * Breaks up the large direction into a list of commands that happen on each frame of execution.
+   * Gets the color the shape should end as.
+   *
+   * @return The color packed into an int as 0xRRGGBB.
    */
-  private void generateSubCommands() {
-    int totalTicks = this.endFrame - this.startFrame - 1;
-
-    int deltaR = this.r - this.shape.getColor().getValue0();
-    int deltaG = this.g - this.shape.getColor().getValue1();
-    int deltaB = this.b - this.shape.getColor().getValue2();
-
-    if (totalTicks <= 0) {
-      this.subCommands.put(startFrame,
-          new Triplet<>(deltaR, deltaG, deltaB));
-      return;
-    }
+  public int getRgb() {
+    return ColorUtils.pack(r, g, b);
+  }
 
-    int previousR = 0;
-    int previousG = 0;
-    int previousB = 0;
-    float totalR = 0;
-    float totalG = 0;
-    float totalB = 0;
+  /**
+   * Gets the red value the shape should end as.
+   *
+   * @return The red value.
+   */
+  public int getRed() {
+    return this.r;
+  }
 
-    for (int i = 0; i < totalTicks; i++) {
-      totalR += deltaR / ((double) totalTicks);
-      totalG += deltaG / ((double) totalTicks);
-      totalB += deltaB / ((double) totalB);
+  /**
+   * Gets the green value the shape should end as.
+   *
+   * @return The green value.
+   */
+  public int getGreen() {
+    return this.g;
+  }
 
-      float rCap = deltaR <= 0 ? Math.max(deltaR, totalR) : Math.min(deltaR, totalR);
-      float gCap = deltaG <= 0 ? Math.max(deltaG, totalG) : Math.min(deltaG, totalG);
-      float bCap = deltaB <= 0 ? Math.max(deltaB, totalB) : Math.min(deltaB, totalB);
+  /**
+   * Gets the blue value the shape should end as.
+   *
+   * @return The blue value.
+   */
+  public int getBlue() {
+    return this.b;
+  }
 
-      int currentR = Math.round(rCap - previousR);
-      int currentG = Math.round(gCap - previousG);
-      int currentB = Math.round(bCap - previousB);
+  /**
+   * Breaks up the large direction into a list of commands that happen on each frame of execution.
+   *
+   * @param from The color of the shape when the direction starts, packed as 0xRRGGBB.
+   */
+  private void generateSubCommands(int from) {
+    this.subCommands.generate(this.r - ColorUtils.red(from), this.g - ColorUtils.green(from),
+        this.b - ColorUtils.blue(from));
 
-      this.subCommands.put(startFrame + i, new Triplet<>(currentR, currentG, currentB));
+    // Blue has always changed all at once on the first frame, and exported animations rely on it.
+    this.subCommands.changeAllAtStart(2);
+  }
 
-      previousR += currentR;
-      previousG += currentG;
-      previousB += currentB;
-    }
+  @Override
+  public void resetSubCommands() {
+    this.subCommands.reset();
   }
 
   @Override
   public void processCommandsAtTick(int frame) {
-    if (this.subCommands.keySet().size() == 0) {
-      this.generateSubCommands();
+    if (this.subCommands.isEmpty()) {
+      this.generateSubCommands(this.shape.getRgb());
+    }
+
+    if (!this.subCommands.hasFrame(frame)) {
+      return;
     }
 
-    Triplet<Integer, Integer, Integer> command
-        = this.subCommands.getOrDefault(frame, null);
+    this.shape.shiftColor(this.subCommands.getDelta(0, frame),
+        this.subCommands.getDelta(1, frame), this.subCommands.getDelta(2, frame));
+  }
 
-    if (command == null) {
+  @Override
+  public void applyThroughFrame(IShape shape, int frame) {
+    if (frame < this.startFrame) {
       return;
     }
+    if (this.subCommands.isEmpty()) {
+      this.generateSubCommands(shape.getRgb());
+    }
 
-    this.shape.shiftColor(command.getValue0(), command.getValue1(), command.getValue2());
+    shape.shiftColor(this.subCommands.getTotalThrough(0, frame),
+        this.subCommands.getTotalThrough(1, frame), this.subCommands.getTotalThrough(2, frame));
   }
 
   @Override
@@ -116,6 +135,6 @@ public class ColorDirection extends AbstractDirection implements IDirection {
   @Override
   public IDirection getCopy(IShape shape) {
     return new ColorDirection(shape, this.r, this.g, this.b, this.startFrame, this.endFrame,
-        this.subCommands);
+        this.subCommands.getCopy());
   }
 }
@@ -62,6 +62,69 @@ public class CreateDirection extends AbstractDirection implements IDirection {
     finalShape.create(this.x, this.y, this.width, this.height, this.coordinateType, r, g, b);
   }
 
+  /**
+   * Gets the initial X coordinate of the shape.
+   *
+   * @return The initial X coordinate.
+   */
+  public int getX() {
+    return this.x;
+  }
+
+  /**
+   * Gets the initial Y coordinate of the shape.
+   *
+   * @return The initial Y coordinate.
+   */
+  public int getY() {
+    return this.y;
+  }
+
+  /**
+   * Gets the initial width of the shape.
+   *
+   * @return The initial width.
+   */
+  public int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * Gets the initial height of the shape.
+   *
+   * @return The initial height.
+   */
+  public int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the initial red value of the shape.
+   *
+   * @return The initial red value.
+   */
+  public int getRed() {
+    return this.r;
+  }
+
+  /**
+   * Gets the initial green value of the shape.
+   *
+   * @return The initial green value.
+   */
+  public int getGreen() {
+    return this.g;
+  }
+
+  /**
+   * Gets the initial blue value of the shape.
+   *
+   * @return The initial blue value.
+   */
+  public int getBlue() {
+    return this.b;
+  }
+
   @Override
   public void processCommandsAtTick(int frame) {
     if (frame == this.startFrame) {
@@ -69,6 +132,13 @@ public class CreateDirection extends AbstractDirection implements IDirection {
     }
   }
 
+  @Override
+  public void applyThroughFrame(IShape shape, int frame) {
+    if (frame >= this.startFrame) {
+      shape.create(this.x, this.y, this.width, this.height, this.coordinateType, r, g, b);
+    }
+  }
+
   @Override
   public String toString(int frameRate, IShape shape) {
     StringBuilder builder = new StringBuilder();
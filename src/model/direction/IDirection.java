@@ -15,6 +15,23 @@ public interface IDirection extends Comparable<IDirection> {
    */
   void processCommandsAtTick(int frame);
 
+  /**
+   * Applies everything this direction does to a shape up to and including the given frame, without
+   * replaying the frames before it. The given shape should hold the values it had right before this
+   * direction started; only the values this direction changes are touched.
+   *
+   * @param shape The shape to apply the direction to.
+   * @param frame The last frame whose changes should be applied.
+   */
+  void applyThroughFrame(IShape shape, int frame);
+
+  /**
+   * Forgets any per-frame changes that were worked out from the shape this direction started on,
+   * so they're worked out again the next time they're needed. Used when something before this
+   * direction has been edited, changing what the shape looks like when it starts.
+   */
+  void resetSubCommands();
+
   /**
    * Returns the direction as a list of stats about the shape before and after the direction.
    *
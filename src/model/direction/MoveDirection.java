@@ -1,9 +1,6 @@
 package model.direction;
 
-import java.util.HashMap;
-import java.util.Map;
 import model.shape.IShape;
-import model.utils.Pair;
 
 /**
  * Represents a direction on a shape that changes the position of the shape during an interval.
@@ -12,7 +9,7 @@ public class MoveDirection extends AbstractDirection implements IDirection {
 
   private final int newX;
   private final int newY;
-  private final Map<Integer, Pair<Integer, Integer>> subCommands;
+  private final SubCommandTable subCommands;
 
   /**
    * Sets up a direction for moving a shape.
@@ -30,11 +27,11 @@ public class MoveDirection extends AbstractDirection implements IDirection {
     super(shape, startFrame, endFrame, "MOVE");
     this.newX = newX;
     this.newY = newY;
-    this.subCommands = new HashMap<>();
+    this.subCommands = new SubCommandTable(startFrame, endFrame);
   }
 
   private MoveDirection(IShape shape, int newX, int newY, int startFrame, int endFrame,
-      Map<Integer, Pair<Integer, Integer>> subCommands)
+      SubCommandTable subCommands)
       throws IllegalArgumentException {
     super(shape, startFrame, endFrame, "MOVE");
     this.newX = newX;
@@ -43,54 +40,62 @@ public class MoveDirection extends AbstractDirection implements IDirection {
   }
 
   /**
-   * Breaks up the large direction into a list of commands that happen on each frame of execution.
+   * Gets the X coordinate the shape should end at.
+   *
+   * @return The X coordinate.
    */
-  protected void generateSubCommands() {
-    int totalTicks = this.endFrame - this.startFrame - 1;
-
-    int deltaX = this.newX - this.shape.getX();
-    int deltaY = this.newY - this.shape.getY();
-
-    if (totalTicks <= 0) {
-      this.subCommands.put(startFrame, new Pair<>(deltaX, deltaY));
-      return;
-    }
-
-    int previousX = 0;
-    int previousY = 0;
-    float totalX = 0;
-    float totalY = 0;
-
-    for (int i = 0; i < totalTicks; i++) {
-      totalX += deltaX / ((double) totalTicks);
-      totalY += deltaY / ((double) totalTicks);
-
-      float xCap = deltaX <= 0 ? Math.max(deltaX, totalX) : Math.min(deltaX, totalX);
-      float yCap = deltaY <= 0 ? Math.max(deltaY, totalY) : Math.min(deltaY, totalY);
+  public int getNewX() {
+    return this.newX;
+  }
 
-      int currentX = Math.round(xCap - previousX);
-      int currentY = Math.round(yCap - previousY);
+  /**
+   * Gets the Y coordinate the shape should end at.
+   *
+   * @return The Y coordinate.
+   */
+  public int getNewY() {
+    return this.newY;
+  }
 
-      this.subCommands.put(startFrame + i, new Pair<>(currentX, currentY));
+  /**
+   * Breaks up the large direction into a list of commands that happen on each frame of execution.
+   *
+   * @param fromX The X coordinate the shape is at when the direction starts.
+   * @param fromY The Y coordinate the shape is at when the direction starts.
+   */
+  protected void generateSubCommands(int fromX, int fromY) {
+    this.subCommands.generate(this.newX - fromX, this.newY - fromY);
+  }
 
-      previousX += currentX;
-      previousY += currentY;
-    }
+  @Override
+  public void resetSubCommands() {
+    this.subCommands.reset();
   }
 
   @Override
   public void processCommandsAtTick(int frame) {
-    if (this.subCommands.keySet().size() == 0) {
-      this.generateSubCommands();
+    if (this.subCommands.isEmpty()) {
+      this.generateSubCommands(this.shape.getX(), this.shape.getY());
     }
 
-    Pair<Integer, Integer> command = this.subCommands.getOrDefault(frame, null);
+    if (!this.subCommands.hasFrame(frame)) {
+      return;
+    }
+
+    this.shape.shift(this.subCommands.getDelta(0, frame), this.subCommands.getDelta(1, frame));
+  }
 
-    if (command == null) {
+  @Override
+  public void applyThroughFrame(IShape shape, int frame) {
+    if (frame < this.startFrame) {
       return;
     }
+    if (this.subCommands.isEmpty()) {
+      this.generateSubCommands(shape.getX(), shape.getY());
+    }
 
-    this.shape.shift(command.getValue0(), command.getValue1());
+    shape.shift(this.subCommands.getTotalThrough(0, frame),
+        this.subCommands.getTotalThrough(1, frame));
   }
 
   @Override
@@ -98,14 +103,12 @@ public class MoveDirection extends AbstractDirection implements IDirection {
     return DirectionUtils.toString(shape,
         startFrame, endFrame, frameRate, "move    ",
         newX, newY, shape.getWidth(), shape.getHeight(),
-        shape.getColor().getValue0(),
-        shape.getColor().getValue1(),
-        shape.getColor().getValue2());
+        shape.getRed(), shape.getGreen(), shape.getBlue());
   }
 
   @Override
   public IDirection getCopy(IShape shape) {
     return new MoveDirection(shape, this.newX, this.newY, this.startFrame, this.endFrame,
-        this.subCommands);
+        this.subCommands.getCopy());
   }
 }
@@ -1,9 +1,6 @@
 package model.direction;
 
-import java.util.HashMap;
-import java.util.Map;
 import model.shape.IShape;
-import model.utils.Pair;
 
 /**
  * Represents a direction on a shape that changes the size of the shape during an interval.
@@ -12,7 +9,7 @@ public class ResizeDirection extends AbstractDirection implements IDirection {
 
   private final int newWidth;
   private final int newHeight;
-  private final Map<Integer, Pair<Integer, Integer>> subCommands;
+  private final SubCommandTable subCommands;
 
   /**
    * Sets up a direction for changing the size of a shape.
@@ -29,7 +26,7 @@ public class ResizeDirection extends AbstractDirection implements IDirection {
     DirectionUtils.checkLengths(newWidth, newHeight);
     this.newWidth = newWidth;
     this.newHeight = newHeight;
-    this.subCommands = new HashMap<>();
+    this.subCommands = new SubCommandTable(startFrame, endFrame);
   }
 
   /**
@@ -43,7 +40,7 @@ public class ResizeDirection extends AbstractDirection implements IDirection {
    * @param subCommands In case commands have already been generated, the subcommands.
    */
   private ResizeDirection(IShape shape, int newWidth, int newHeight, int startFrame, int endFrame,
-      Map<Integer, Pair<Integer, Integer>> subCommands) {
+      SubCommandTable subCommands) {
     super(shape, startFrame, endFrame, "RESIZE");
     DirectionUtils.checkLengths(newWidth, newHeight);
     this.newWidth = newWidth;
@@ -52,56 +49,63 @@ public class ResizeDirection extends AbstractDirection implements IDirection {
   }
 
   /**
-   * Breaks up the large direction into a list of commands that happen on each frame of execution.
+   * Gets the width the shape should end at.
+   *
+   * @return The width.
    */
-  private void generateSubCommands() {
-    int totalTicks = this.endFrame - this.startFrame - 1;
-
-    int deltaWidth = this.newWidth - shape.getWidth();
-    int deltaHeight = this.newHeight - shape.getHeight();
-
-    if (totalTicks <= 0) {
-      this.subCommands.put(startFrame, new Pair<>(deltaWidth, deltaHeight));
-      return;
-    }
-
-    int previousWidth = 0;
-    int previousHeight = 0;
-    float totalWidth = 0;
-    float totalHeight = 0;
-
-    for (int i = 0; i < totalTicks; i++) {
-      totalWidth += deltaWidth / ((double) totalTicks);
-      totalHeight += deltaHeight / ((double) totalTicks);
-
-      float widthCap = deltaWidth < 0
-          ? Math.max(deltaWidth, totalWidth) : Math.min(deltaWidth, totalWidth);
-      float heightCap = deltaHeight < 0
-          ? Math.max(deltaHeight, totalHeight) : Math.min(deltaHeight, totalHeight);
+  public int getNewWidth() {
+    return this.newWidth;
+  }
 
-      int currentWidth = Math.round(widthCap - previousWidth);
-      int currentHeight = Math.round(heightCap - previousHeight);
+  /**
+   * Gets the height the shape should end at.
+   *
+   * @return The height.
+   */
+  public int getNewHeight() {
+    return this.newHeight;
+  }
 
-      this.subCommands.put(startFrame + i, new Pair<>(currentWidth, currentHeight));
+  /**
+   * Breaks up the large direction into a list of commands that happen on each frame of execution.
+   *
+   * @param fromWidth  The width of the shape when the direction starts.
+   * @param fromHeight The height of the shape when the direction starts.
+   */
+  private void generateSubCommands(int fromWidth, int fromHeight) {
+    this.subCommands.generate(this.newWidth - fromWidth, this.newHeight - fromHeight);
+  }
 
-      previousWidth += currentWidth;
-      previousHeight += currentHeight;
-    }
+  @Override
+  public void resetSubCommands() {
+    this.subCommands.reset();
   }
 
   @Override
   public void processCommandsAtTick(int frame) {
-    if (this.subCommands.keySet().size() == 0) {
-      this.generateSubCommands();
+    if (this.subCommands.isEmpty()) {
+      this.generateSubCommands(this.shape.getWidth(), this.shape.getHeight());
     }
 
-    Pair<Integer, Integer> command = this.subCommands.getOrDefault(frame, null);
+    if (!this.subCommands.hasFrame(frame)) {
+      return;
+    }
+
+    this.shape.shiftSize(this.subCommands.getDelta(0, frame),
+        this.subCommands.getDelta(1, frame));
+  }
 
-    if (command == null) {
+  @Override
+  public void applyThroughFrame(IShape shape, int frame) {
+    if (frame < this.startFrame) {
       return;
     }
+    if (this.subCommands.isEmpty()) {
+      this.generateSubCommands(shape.getWidth(), shape.getHeight());
+    }
 
-    this.shape.shiftSize(command.getValue0(), command.getValue1());
+    shape.shiftSize(this.subCommands.getTotalThrough(0, frame),
+        this.subCommands.getTotalThrough(1, frame));
   }
 
   @Override
@@ -109,14 +113,12 @@ public class ResizeDirection extends AbstractDirection implements IDirection {
     return DirectionUtils.toString(shape,
         startFrame, endFrame, frameRate, "resize  ",
         shape.getX(), shape.getY(), newWidth, newHeight,
-        shape.getColor().getValue0(),
-        shape.getColor().getValue1(),
-        shape.getColor().getValue2());
+        shape.getRed(), shape.getGreen(), shape.getBlue());
   }
 
   @Override
   public IDirection getCopy(IShape shape) {
     return new ResizeDirection(shape, this.newWidth, this.newHeight, this.startFrame, this.endFrame,
-        this.subCommands);
+        this.subCommands.getCopy());
   }
 }
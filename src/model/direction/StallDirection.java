@@ -27,18 +27,21 @@ public class StallDirection extends MoveDirection {
    * make sure no subCommands are created so that the shape stays in place.
    */
   @Override
-  protected void generateSubCommands() {
+  protected void generateSubCommands(int fromX, int fromY) {
     // We want this to not happen on a stall, so we make it empty.
   }
 
+  @Override
+  public void applyThroughFrame(IShape shape, int frame) {
+    // A stall never changes the shape.
+  }
+
   @Override
   public String toString(int frameRate, IShape shape) {
     return DirectionUtils.toString(shape,
         startFrame, endFrame, frameRate, "stall   ",
         shape.getX(), shape.getY(), shape.getWidth(), shape.getHeight(),
-        shape.getColor().getValue0(),
-        shape.getColor().getValue1(),
-        shape.getColor().getValue2());
+        shape.getRed(), shape.getGreen(), shape.getBlue());
   }
 
   @Override
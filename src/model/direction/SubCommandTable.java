@@ -0,0 +1,125 @@
+package model.direction;
+
+/**
+ * The sub-commands of a direction that changes some values of a shape a little bit every frame,
+ * such as its x and y coordinates. Every value that is changed gets its own channel. Rather than
+ * storing the change made on each frame, only the whole change of each channel is kept, and the
+ * change made by any frame is worked out straight from it: after k of the direction's n ticks, a
+ * channel has changed by its whole change times k / n, rounded half up. This is exact integer math,
+ * so long directions don't drift, and any frame can be looked up without adding up the frames
+ * before it.
+ */
+final class SubCommandTable {
+
+  private final int startFrame;
+  private final int ticks;
+  private int[] channelDeltas;
+  private int allAtStartChannels;
+
+  /**
+   * Sets up an empty table for a direction.
+   *
+   * @param startFrame The frame the direction starts on.
+   * @param endFrame   The frame the direction ends on.
+   */
+  SubCommandTable(int startFrame, int endFrame) {
+    this.startFrame = startFrame;
+    // A direction too short to spread its change out makes the whole change on its start frame.
+    this.ticks = Math.max(endFrame - startFrame - 1, 1);
+  }
+
+  /**
+   * Copies the table for another direction. Once generated, the changes never change, so the copy
+   * can safely share them, but generating one table never fills in the other.
+   *
+   * @return A copy of this table.
+   */
+  SubCommandTable getCopy() {
+    SubCommandTable copy = new SubCommandTable(this.startFrame, this.startFrame + this.ticks + 1);
+    copy.channelDeltas = this.channelDeltas;
+    copy.allAtStartChannels = this.allAtStartChannels;
+    return copy;
+  }
+
+  /**
+   * Whether the sub-commands still need to be generated.
+   *
+   * @return true if nothing has been generated yet.
+   */
+  boolean isEmpty() {
+    return this.channelDeltas == null;
+  }
+
+  /**
+   * Throws away what has been generated, so that it is generated again the next time it's needed.
+   * Copies of this table that were already made keep what they had.
+   */
+  void reset() {
+    this.channelDeltas = null;
+    this.allAtStartChannels = 0;
+  }
+
+  /**
+   * Sets how much each channel changes by over the whole direction.
+   *
+   * @param channelDeltas How much each channel changes by over the whole direction.
+   */
+  void generate(int... channelDeltas) {
+    this.channelDeltas = channelDeltas.clone();
+    this.allAtStartChannels = 0;
+  }
+
+  /**
+   * Moves the whole change of a channel onto the start frame, instead of spreading it out.
+   *
+   * @param channel The channel, which must have been generated.
+   */
+  void changeAllAtStart(int channel) {
+    this.allAtStartChannels |= 1 << channel;
+  }
+
+  /**
+   * Whether a sub-command runs on a frame.
+   *
+   * @param frame The frame.
+   * @return true if the table has been generated and has a change on that frame.
+   */
+  boolean hasFrame(int frame) {
+    return this.channelDeltas != null
+        && frame >= this.startFrame && frame - this.startFrame < this.ticks;
+  }
+
+  /**
+   * Gets the change to a channel on a frame.
+   *
+   * @param channel The channel.
+   * @param frame   The frame, which must have a sub-command.
+   * @return The change made on that frame.
+   */
+  int getDelta(int channel, int frame) {
+    return this.getTotalThrough(channel, frame) - this.getTotalThrough(channel, frame - 1);
+  }
+
+  /**
+   * Gets the whole change made to a channel by the end of a frame.
+   *
+   * @param channel The channel.
+   * @param frame   The frame.
+   * @return The sum of every change made on or before that frame, which is 0 before the direction
+   *         starts.
+   */
+  int getTotalThrough(int channel, int frame) {
+    int ticksDone = Math.max(0, Math.min(frame - this.startFrame + 1, this.ticks));
+
+    if (ticksDone == 0) {
+      return 0;
+    }
+    if ((this.allAtStartChannels & (1 << channel)) != 0) {
+      return this.channelDeltas[channel];
+    }
+
+    // delta * k / n rounded half up, which is floor((2 * delta * k + n) / (2 * n)).
+    long delta = this.channelDeltas[channel];
+    return (int) Math.floorDiv(2 * delta * ticksDone + this.ticks, 2L * this.ticks);
+  }
+}
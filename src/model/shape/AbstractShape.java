@@ -1,6 +1,7 @@
 package model.shape;
 
 import java.util.function.Function;
+import model.utils.ColorUtils;
 import model.utils.Triplet;
 
 /**
@@ -20,6 +21,7 @@ public class AbstractShape implements IShape {
   protected int g;
   protected int b;
   protected boolean isVisible;
+  private ShapeState state;
 
   /**
    * Constructor for the object.
@@ -47,6 +49,8 @@ public class AbstractShape implements IShape {
   public void create(int xPos, int yPos, int width, int height,
       CoordinateType coordType, int r, int g, int b) {
 
+    // Every change goes through here, so this is where the old state stops being current.
+    this.state = null;
     this.xPos   = xPos;
     this.yPos   = yPos;
     this.width  = enforceArguments(width, "width");
@@ -147,6 +151,26 @@ public class AbstractShape implements IShape {
     return new Triplet<>(r,g,b);
   }
 
+  @Override
+  public int getRgb() {
+    return ColorUtils.pack(r, g, b);
+  }
+
+  @Override
+  public int getRed() {
+    return this.r;
+  }
+
+  @Override
+  public int getGreen() {
+    return this.g;
+  }
+
+  @Override
+  public int getBlue() {
+    return this.b;
+  }
+
   @Override
   public int getWidth() {
     return this.width;
@@ -178,6 +202,30 @@ public class AbstractShape implements IShape {
     return shp;
   }
 
+  @Override
+  public ShapeState getState() {
+    if (this.state == null) {
+      this.state = new ShapeState(shapeName, this.getShapeType(), xPos, yPos, width, height,
+          coordType, r, g, b, isVisible);
+    }
+    return this.state;
+  }
+
+  @Override
+  public void setState(ShapeState state) {
+    // The state came from a shape, so its values were already checked.
+    this.state = state;
+    xPos = state.getX();
+    yPos = state.getY();
+    width = state.getWidth();
+    height = state.getHeight();
+    coordType = state.getCoordType();
+    r = state.getRed();
+    g = state.getGreen();
+    b = state.getBlue();
+    isVisible = state.isVisible();
+  }
+
   @Override
   public boolean isVisible() {
     return this.isVisible;
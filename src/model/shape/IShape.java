@@ -110,6 +110,30 @@ public interface IShape {
    */
   Triplet<Integer,Integer,Integer> getColor();
 
+  /**
+   * gets the color without creating an object for it.
+   * @return gets the color packed into an int as 0xRRGGBB.
+   */
+  int getRgb();
+
+  /**
+   * gets the red value.
+   * @return gets the red value.
+   */
+  int getRed();
+
+  /**
+   * gets the green value.
+   * @return gets the green value.
+   */
+  int getGreen();
+
+  /**
+   * gets the blue value.
+   * @return gets the blue value.
+   */
+  int getBlue();
+
   /**
    * Shows the image as a Stirng.
    * @return the String representation of the shape.
@@ -129,6 +153,20 @@ public interface IShape {
    */
   boolean equals(Object obj);
 
+  /**
+   * Gets what the shape looks like right now, as a state that won't change along with the shape.
+   * The same state is handed out until the shape is changed again.
+   * @return the current state of the shape.
+   */
+  ShapeState getState();
+
+  /**
+   * Puts the shape back the way it was in a state it had before, including whether it had been
+   * created yet.
+   * @param state a state of this shape.
+   */
+  void setState(ShapeState state);
+
   /**
    * Returns a copy of the given shape.
    * @return copy of the shape.
@@ -0,0 +1,181 @@
+package model.shape;
+
+import java.util.Objects;
+import model.utils.ColorUtils;
+
+/**
+ * What a shape looks like at a single point in the animation. Unlike an IShape, a state can never
+ * change once it's made, so the same state can be handed to any number of views and reused on
+ * every frame that the shape stays the same, without anyone having to make a copy of it.
+ */
+public final class ShapeState {
+
+  private final String name;
+  private final String shapeType;
+  private final int x;
+  private final int y;
+  private final int width;
+  private final int height;
+  private final CoordinateType coordType;
+  private final int red;
+  private final int green;
+  private final int blue;
+  private final boolean visible;
+
+  /**
+   * Creates a state. The values are taken as they are, since they come from a shape that has
+   * already checked them.
+   *
+   * @param name      The name of the shape.
+   * @param shapeType The type of the shape, in all uppercase.
+   * @param x         The x coordinate.
+   * @param y         The y coordinate.
+   * @param width     The width.
+   * @param height    The height.
+   * @param coordType Whether the coordinates are of the corner or the center.
+   * @param red       The red value.
+   * @param green     The green value.
+   * @param blue      The blue value.
+   * @param visible   Whether the shape has been created yet.
+   */
+  public ShapeState(String name, String shapeType, int x, int y, int width, int height,
+      CoordinateType coordType, int red, int green, int blue, boolean visible) {
+    this.name = name;
+    this.shapeType = shapeType;
+    this.x = x;
+    this.y = y;
+    this.width = width;
+    this.height = height;
+    this.coordType = coordType;
+    this.red = red;
+    this.green = green;
+    this.blue = blue;
+    this.visible = visible;
+  }
+
+  /**
+   * Gets the name of the shape.
+   * @return the name of the shape.
+   */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+   * Gets the type of the shape.
+   * @return the type of the shape in all uppercase (i.e. "OVAL", "RECTANGLE").
+   */
+  public String getShapeType() {
+    return this.shapeType;
+  }
+
+  /**
+   * gets the x coordinate.
+   * @return gets the x coordinate.
+   */
+  public int getX() {
+    return this.x;
+  }
+
+  /**
+   * gets the y coordinate.
+   * @return gets the y coordinate.
+   */
+  public int getY() {
+    return this.y;
+  }
+
+  /**
+   * gets the width.
+   * @return gets the width.
+   */
+  public int getWidth() {
+    return this.width;
+  }
+
+  /**
+   * gets the height.
+   * @return gets the height.
+   */
+  public int getHeight() {
+    return this.height;
+  }
+
+  /**
+   * Gets the coordinate type.
+   * @return the Coordinate type.
+   */
+  public CoordinateType getCoordType() {
+    return this.coordType;
+  }
+
+  /**
+   * gets the color without creating an object for it.
+   * @return the color packed into an int as 0xRRGGBB.
+   */
+  public int getRgb() {
+    return ColorUtils.pack(red, green, blue);
+  }
+
+  /**
+   * gets the red value.
+   * @return the red value.
+   */
+  public int getRed() {
+    return this.red;
+  }
+
+  /**
+   * gets the green value.
+   * @return the green value.
+   */
+  public int getGreen() {
+    return this.green;
+  }
+
+  /**
+   * gets the blue value.
+   * @return the blue value.
+   */
+  public int getBlue() {
+    return this.blue;
+  }
+
+  /**
+   * Returns whether or not the shape had been created in this state.
+   * @return true if the shape is visible.
+   */
+  public boolean isVisible() {
+    return this.visible;
+  }
+
+  @Override
+  public String toString() {
+    StringBuilder builder = new StringBuilder();
+    for (int i : new int[]{x, y, width, height, red, green, blue}) {
+      builder.append(" ").append(String.format("%03d", i));
+    }
+    return builder.substring(1);
+  }
+
+  @Override
+  public boolean equals(Object obj) {
+    if (!(obj instanceof ShapeState)) {
+      return false;
+    }
+    ShapeState other = (ShapeState) obj;
+    return this.name.equals(other.name)
+        && Objects.equals(this.shapeType, other.shapeType)
+        && this.x == other.x && this.y == other.y
+        && this.width == other.width && this.height == other.height
+        && this.coordType == other.coordType
+        && this.red == other.red && this.green == other.green && this.blue == other.blue
+        && this.visible == other.visible;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(name, shapeType, x, y, width, height, coordType, red, green, blue,
+        visible);
+  }
+}
@@ -0,0 +1,50 @@
+package model.utils;
+
+/**
+ * Utils class for working with colors packed into a single int as 0xRRGGBB, which lets a color be
+ * passed around without creating an object for it.
+ */
+public class ColorUtils {
+
+  /**
+   * Packs the channels of a color into a single int.
+   *
+   * @param r The red value (0-255).
+   * @param g The green value (0-255).
+   * @param b The blue value (0-255).
+   * @return The color as 0xRRGGBB.
+   */
+  public static int pack(int r, int g, int b) {
+    return (r << 16) | (g << 8) | b;
+  }
+
+  /**
+   * Gets the red value of a packed color.
+   *
+   * @param rgb The color as 0xRRGGBB.
+   * @return The red value.
+   */
+  public static int red(int rgb) {
+    return (rgb >> 16) & 0xFF;
+  }
+
+  /**
+   * Gets the green value of a packed color.
+   *
+   * @param rgb The color as 0xRRGGBB.
+   * @return The green value.
+   */
+  public static int green(int rgb) {
+    return (rgb >> 8) & 0xFF;
+  }
+
+  /**
+   * Gets the blue value of a packed color.
+   *
+   * @param rgb The color as 0xRRGGBB.
+   * @return The blue value.
+   */
+  public static int blue(int rgb) {
+    return rgb & 0xFF;
+  }
+}
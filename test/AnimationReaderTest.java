@@ -0,0 +1,213 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import cs3500.animator.util.AnimationBuilder;
+import cs3500.animator.util.AnimationFile;
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.util.BinaryAnimationReader;
+import cs3500.animator.util.BinaryAnimationWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for reading animations with AnimationReader.
+ */
+public class AnimationReaderTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  /**
+   * A builder that writes down every call it gets.
+   */
+  private static class RecordingBuilder implements AnimationBuilder<String> {
+
+    private final StringBuilder calls = new StringBuilder();
+
+    @Override
+    public String build() {
+      return this.calls.toString();
+    }
+
+    @Override
+    public AnimationBuilder<String> setBounds(int x, int y, int width, int height) {
+      this.calls.append(String.format("canvas %d %d %d %d\n", x, y, width, height));
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<String> declareShape(String name, String type) {
+      this.calls.append("shape ").append(name).append(" ").append(type).append("\n");
+      return this;
+    }
+
+    @Override
+    public AnimationBuilder<String> addMotion(String name, int t1, int x1, int y1, int w1,
+        int h1, int r1, int g1, int b1, int t2, int x2, int y2, int w2, int h2, int r2, int g2,
+        int b2) {
+      this.calls.append("motion ").append(name).append(" ").append(Arrays.toString(new int[]{
+          t1, x1, y1, w1, h1, r1, g1, b1, t2, x2, y2, w2, h2, r2, g2, b2})).append("\n");
+      return this;
+    }
+  }
+
+  private String read(String input) {
+    return AnimationReader.parseFile(new StringReader(input), new RecordingBuilder());
+  }
+
+  private void assertReadFails(String input, String message) {
+    try {
+      this.read(input);
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals(message, e.getMessage());
+    }
+  }
+
+  @Test
+  public void parseFile_WithCommentsAndSigns_ReadsEveryLine() {
+    assertEquals("canvas -1 2 300 400\n"
+            + "shape R rectangle\n"
+            + "motion R [1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, -2147483648]\n",
+        this.read("# a comment\ncanvas -1 +2 300 400 # trailing\r\n"
+            + "shape R rectangle#no space\n\n"
+            + "motion R\t1 2 3 4 5 6 7 8\n 9 10 11 12 13 14 15 -2147483648"));
+  }
+
+  @Test
+  public void parseFile_WithBadInput_KeepsScannerMessages() {
+    this.assertReadFails("canvas 1 x 3 4", "Canvas: expected integer for top, got: x");
+    this.assertReadFails("canvas 1 2 3",
+        "Canvas: expected integer for height, but no more input available");
+    this.assertReadFails("motion R 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 2147483648",
+        "Motion: expected integer for final blue value, got: 2147483648");
+    this.assertReadFails("motion", "Motion: Expected a shape name, but no more input available");
+    this.assertReadFails("shape R", "Shape: Expected a type, but no more input available");
+    this.assertReadFails("oval R 1 # rest\nshape R oval", "Unexpected keyword: oval R 1 # rest");
+  }
+
+  @Test
+  public void parseFile_MappedFile_MatchesReadable() throws IOException {
+    String input = "canvas 0 0 100 100\nshape \u00e9t\u00e9 ellipse # caf\u00e9\n"
+        + "motion \u00e9t\u00e9 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16\n";
+    Path file = this.folder.newFile("animation.txt").toPath();
+    Files.write(file, input.getBytes(StandardCharsets.UTF_8));
+
+    assertEquals(this.read(input), AnimationReader.parseFile(file, new RecordingBuilder()));
+    // However it ends up being read, a file reads the same as it did through a plain Reader.
+    assertEquals(AnimationReader.parseFile(new InputStreamReader(Files.newInputStream(file)),
+        new RecordingBuilder()),
+        AnimationReader.parseFile(new AnimationFile(file), new RecordingBuilder()));
+  }
+
+  @Test
+  public void parseFile_MappedFileWithBadInput_KeepsScannerMessages() throws IOException {
+    Path file = this.folder.newFile("bad.txt").toPath();
+    Files.write(file, "shape R oval\nmotion R 1 2 x".getBytes(StandardCharsets.UTF_8));
+
+    try {
+      AnimationReader.parseFile(file, new RecordingBuilder());
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals("Motion: expected integer for initial y-coordinate, got: x", e.getMessage());
+    }
+  }
+
+  /**
+   * Writes a file several chunks long, with some motions split over two lines.
+   */
+  private Path writeLongFile(String name, String ending) throws IOException {
+    StringBuilder input = new StringBuilder("canvas 0 0 400 400\n");
+
+    for (int i = 0; i < 60000; i++) {
+      if (i % 1000 == 0) {
+        input.append(String.format("shape S%d rectangle # shape %d\n", i / 1000, i));
+      }
+      input.append(String.format("motion S%d %d 1 2 3 4 5 6 7%s%d 9 10 11 12 13 14 15\n",
+          i / 1000, i, i % 3 == 0 ? "\n" : " ", i + 1));
+    }
+    input.append(ending);
+
+    Path file = this.folder.newFile(name).toPath();
+    Files.write(file, input.toString().getBytes(StandardCharsets.UTF_8));
+    return file;
+  }
+
+  @Test
+  public void parseFileInParallel_LongFile_MatchesSequential() throws IOException {
+    Path file = this.writeLongFile("long.txt", "shape last oval\n");
+    ForkJoinPool pool = new ForkJoinPool(4);
+
+    try {
+      assertEquals(AnimationReader.parseFile(file, new RecordingBuilder()),
+          AnimationReader.parseFileInParallel(file, new RecordingBuilder(), pool));
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void parseFileInParallel_BadInputNearTheEnd_KeepsScannerMessages() throws IOException {
+    Path file = this.writeLongFile("bad-long.txt", "motion S1 1 2 x\n");
+    ForkJoinPool pool = new ForkJoinPool(4);
+    RecordingBuilder builder = new RecordingBuilder();
+
+    try {
+      AnimationReader.parseFileInParallel(file, builder, pool);
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals("Motion: expected integer for initial y-coordinate, got: x", e.getMessage());
+      // Everything before the bad motion still reached the builder, in order.
+      assertEquals(60061, builder.build().split("\n").length);
+    } finally {
+      pool.shutdown();
+    }
+  }
+
+  @Test
+  public void parseFile_BinaryFile_MatchesText() throws IOException {
+    String input = "canvas -5 10 100 100\nshape \u00e9t\u00e9 ellipse\nshape R rectangle\n"
+        + "motion \u00e9t\u00e9 1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16\n"
+        + "motion R 1 -2147483648 0 1 1 0 0 0 2 2147483647 0 1 1 0 0 0\n";
+    Path file = this.folder.newFile("animation.bin").toPath();
+    Files.write(file, AnimationReader.parseFile(new StringReader(input),
+        new BinaryAnimationWriter()));
+
+    assertEquals(this.read(input), BinaryAnimationReader.parseFile(file, new RecordingBuilder()));
+    // A binary file given as an input file is picked out by its marker.
+    assertEquals(this.read(input),
+        AnimationReader.parseFile(new AnimationFile(file), new RecordingBuilder()));
+  }
+
+  @Test
+  public void parse_BadBinary_FailsWithMessage() {
+    byte[] written = new BinaryAnimationWriter().setBounds(0, 0, 10, 10)
+        .declareShape("R", "rectangle").build();
+    byte[] newer = written.clone();
+    newer[4] = 2;
+
+    try {
+      BinaryAnimationReader.parse(ByteBuffer.wrap(newer), new RecordingBuilder());
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals("Binary: unsupported version 2", e.getMessage());
+    }
+    try {
+      BinaryAnimationReader.parse(ByteBuffer.wrap(written, 0, written.length - 2),
+          new RecordingBuilder());
+      fail();
+    } catch (IllegalStateException e) {
+      assertEquals("Binary: expected more input, but no more input available", e.getMessage());
+    }
+  }
+}
@@ -0,0 +1,42 @@
+import static org.junit.Assert.assertEquals;
+
+import cs3500.animator.util.AnimationReader;
+import cs3500.animator.util.BinaryAnimationReader;
+import cs3500.animator.view.binary.BinaryView;
+import cs3500.animator.view.textual.TextualView;
+import java.io.ByteArrayOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import model.ISimpleAnimationModel;
+import model.SimpleAnimationModel;
+import org.junit.Test;
+
+/**
+ * Tests for BinaryView.
+ */
+public class BinaryViewTest {
+
+  @Test
+  public void render_SmallDemo_ReadsBackAsTheSameAnimation() throws IOException {
+    ISimpleAnimationModel model = AnimationReader.parseFile(
+        new FileReader("src/cs3500/animator/testers/smalldemo.txt"),
+        new SimpleAnimationModel.Builder());
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    BinaryView view = new BinaryView(out);
+    view.initialize(360, 360, 20);
+    view.render(model);
+
+    ISimpleAnimationModel readBack = BinaryAnimationReader.parse(
+        ByteBuffer.wrap(out.toByteArray()), new SimpleAnimationModel.Builder());
+    TextualView text = new TextualView();
+    text.initialize(360, 360, 20);
+
+    assertEquals(text.toString(model), text.toString(readBack));
+    assertEquals(model.getTopCoord().getValue0(), readBack.getTopCoord().getValue0());
+    assertEquals(model.getTopCoord().getValue1(), readBack.getTopCoord().getValue1());
+    for (int frame = 0; frame <= 100; frame++) {
+      assertEquals(model.getShapeStatesAtFrame(frame), readBack.getShapeStatesAtFrame(frame));
+    }
+  }
+}
@@ -234,4 +234,15 @@ public class ShapesTest {
         o.equals(new Oval("O")));
 
   }
+
+  @Test
+  public void testPackedColor() {
+    init();
+    assertEquals(0x060708, o.getRgb());
+    assertEquals(6, o.getRed());
+    assertEquals(7, o.getGreen());
+    assertEquals(8, o.getBlue());
+    o.shiftColor(249, 0, -10);
+    assertEquals(0xFF0700, o.getRgb());
+  }
 }
@@ -0,0 +1,88 @@
+import static org.junit.Assert.assertEquals;
+
+import cs3500.animator.view.visual.SpatialIndex;
+import java.awt.Rectangle;
+import java.util.Arrays;
+import java.util.Collections;
+import model.ShapeChange;
+import model.shape.CoordinateType;
+import model.shape.ShapeState;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for finding the shapes under a point or inside an area with a SpatialIndex.
+ */
+public class SpatialIndexTest {
+
+  private SpatialIndex index;
+
+  private ShapeState rect(String name, int x, int y, int w, int h, boolean visible) {
+    return new ShapeState(name, "RECTANGLE", x, y, w, h, CoordinateType.CORNER,
+        0, 0, 0, visible);
+  }
+
+  @Before
+  public void setUp() {
+    this.index = new SpatialIndex(10);
+    this.index.rebuild(Arrays.asList(
+        this.rect("A", 0, 0, 30, 30, true),
+        this.rect("B", 20, 20, 5, 5, true),
+        this.rect("C", 100, 100, 10, 10, true),
+        this.rect("D", 0, 0, 50, 50, false)));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void constructor_NonPositiveCellSize_Throws() {
+    new SpatialIndex(0);
+  }
+
+  @Test
+  public void getShapesAt_GivesTopShapeFirstAndSkipsHiddenShapes() {
+    assertEquals(3, this.index.size());
+    assertEquals(Arrays.asList("B", "A"), this.index.getShapesAt(22, 22));
+    assertEquals(Collections.singletonList("A"), this.index.getShapesAt(30, 30));
+    assertEquals(Collections.emptyList(), this.index.getShapesAt(31, 31));
+    assertEquals(Collections.emptyList(), this.index.getShapesAt(-5, -5));
+  }
+
+  @Test
+  public void getShapesIntersecting_GivesShapesInDrawOrder() {
+    assertEquals(Arrays.asList("A", "B", "C"),
+        this.index.getShapesIntersecting(new Rectangle(0, 0, 200, 200)));
+    assertEquals(Collections.singletonList("C"),
+        this.index.getShapesIntersecting(new Rectangle(105, 95, 50, 10)));
+    assertEquals(Collections.emptyList(),
+        this.index.getShapesIntersecting(new Rectangle(40, 40, 50, 50)));
+  }
+
+  @Test
+  public void update_MovesOnlyTheChangedShapes() {
+    this.index.update(Arrays.asList(
+        new ShapeChange("B", this.rect("B", 20, 20, 5, 5, true),
+            this.rect("B", -40, -40, 5, 5, true)),
+        new ShapeChange("C", this.rect("C", 100, 100, 10, 10, true), null),
+        new ShapeChange("D", this.rect("D", 0, 0, 50, 50, false),
+            this.rect("D", 0, 0, 50, 50, true)),
+        new ShapeChange("E", null, this.rect("E", 5, 5, 1, 1, true))));
+
+    assertEquals(Arrays.asList("E", "D", "A"), this.index.getShapesAt(5, 5));
+    assertEquals(Collections.singletonList("D"), this.index.getShapesAt(40, 40));
+    assertEquals(Collections.singletonList("B"), this.index.getShapesAt(-38, -38));
+    assertEquals(Collections.emptyList(), this.index.getShapesAt(105, 105));
+    assertEquals(4, this.index.size());
+  }
+
+  @Test
+  public void getShapesAt_TallPlus_CoversEverythingItDraws() {
+    this.index.rebuild(Collections.singletonList(new ShapeState("P", "PLUS", 100, 100, 10, 100,
+        CoordinateType.CENTER, 0, 0, 0, true)));
+
+    // The bars of a plus are sized by its height, so this one reaches 50 either side of it.
+    assertEquals(Collections.singletonList("P"), this.index.getShapesAt(55, 100));
+    assertEquals(Collections.singletonList("P"), this.index.getShapesAt(100, 50));
+    assertEquals(Collections.singletonList("P"), this.index.getShapesAt(150, 150));
+    assertEquals(Collections.emptyList(), this.index.getShapesAt(49, 100));
+    assertEquals(Collections.emptyList(), this.index.getShapesAt(100, 151));
+  }
+}
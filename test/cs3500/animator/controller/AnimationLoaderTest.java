@@ -0,0 +1,110 @@
+package cs3500.animator.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import model.ISimpleAnimationModel;
+import org.junit.Test;
+
+/**
+ * Tests for reading an animation in the background with an AnimationLoader.
+ */
+public class AnimationLoaderTest {
+
+  private static final String HEADER = "canvas 0 0 100 100\nshape A rectangle\n";
+
+  /**
+   * Writes one motion a frame long for shape A on each frame of a range, so that the motions are
+   * in order of start time.
+   */
+  private static String motions(int fromFrame, int toFrame) {
+    StringBuilder text = new StringBuilder();
+
+    for (int t = fromFrame; t <= toFrame; t++) {
+      text.append(String.format("motion A %d %d 0 10 10 0 0 0 %d %d 0 10 10 0 0 0%n",
+          t, t, t + 1, t + 1));
+    }
+    return text.toString();
+  }
+
+  @Test(timeout = 10000)
+  public void getLatestModel_AsMotionsDouble_HandsOutACopyEachTime() throws InterruptedException {
+    PacedReadable input = new PacedReadable();
+    AnimationLoader loader = new AnimationLoader(input);
+    loader.start();
+
+    input.feed(HEADER + motions(1, 1023));
+    assertNull(loader.getLatestModel());
+
+    input.feed(motions(1024, 1024));
+    ISimpleAnimationModel first = loader.getLatestModel();
+    assertSame(first, loader.awaitFirstModel());
+    assertTrue(first.isAnimationInitialized());
+    assertEquals(1024, first.getSafeHorizon());
+
+    input.feed(motions(1025, 2047));
+    assertSame(first, loader.getLatestModel());
+
+    input.feed(motions(2048, 2048));
+    ISimpleAnimationModel second = loader.getLatestModel();
+    assertNotSame(first, second);
+    assertEquals(2048, second.getSafeHorizon());
+    assertEquals(1024, first.getSafeHorizon());
+    assertSame(second, loader.awaitFirstModel());
+  }
+
+  @Test(timeout = 10000)
+  public void awaitFirstModel_WithShortInput_GivesTheWholeAnimation() {
+    AnimationLoader loader = new AnimationLoader(new StringReader(HEADER + motions(1, 10)));
+    loader.run();
+
+    ISimpleAnimationModel model = loader.awaitFirstModel();
+
+    assertEquals(Integer.MAX_VALUE, model.getSafeHorizon());
+    assertEquals(11, model.getMaximumFrame());
+    assertSame(model, loader.getLatestModel());
+  }
+
+  @Test(timeout = 10000)
+  public void awaitFirstModel_WithMotionsOutOfOrder_WaitsForTheWholeAnimation()
+      throws InterruptedException {
+    PacedReadable input = new PacedReadable();
+    AnimationLoader loader = new AnimationLoader(input);
+    loader.start();
+
+    input.feed(HEADER + "shape B ellipse\n" + motions(1, 10)
+        + "motion B 1 0 0 5 5 0 0 0 2 0 0 5 5 0 0 0\n" + motions(11, 2047));
+    // Motions still to come could start on any frame, so no frame is final yet.
+    assertNull(loader.getLatestModel());
+
+    input.end();
+    ISimpleAnimationModel model = loader.awaitFirstModel();
+
+    assertEquals(Integer.MAX_VALUE, model.getSafeHorizon());
+    assertEquals(2048, model.getMaximumFrame());
+  }
+
+  @Test(timeout = 10000)
+  public void awaitFirstModel_WithBadInput_ThrowsTheReadError() {
+    AnimationLoader loader = new AnimationLoader(new StringReader(HEADER + "motion A 1 x"));
+    loader.run();
+
+    try {
+      loader.awaitFirstModel();
+      fail();
+    } catch (IllegalStateException e) {
+      try {
+        loader.getLatestModel();
+        fail();
+      } catch (IllegalStateException latest) {
+        assertEquals(e.getMessage(), latest.getMessage());
+        assertSame(e, latest.getCause());
+      }
+    }
+  }
+}
@@ -0,0 +1,137 @@
+package cs3500.animator.controller;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import cs3500.animator.view.IView;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import model.ISimpleAnimationModel;
+import org.junit.Test;
+
+/**
+ * Tests for playing an animation with a FrameByFrameController while it is still being read.
+ */
+public class FrameByFrameControllerTest {
+
+  /**
+   * A view that only remembers which frames it was asked to draw.
+   */
+  private static class RecordingView implements IView {
+
+    private final List<Integer> frames = new ArrayList<>();
+
+    @Override
+    public void render(ISimpleAnimationModel model) {
+      this.frames.add(model.getCurrentFrame());
+    }
+
+    @Override
+    public void initialize(int width, int height, int frameRate) {
+      // Nothing is drawn.
+    }
+
+    @Override
+    public String toString(ISimpleAnimationModel model) {
+      return "";
+    }
+  }
+
+  private static String motions(int fromFrame, int toFrame) {
+    StringBuilder text = new StringBuilder();
+
+    for (int t = fromFrame; t <= toFrame; t++) {
+      text.append(String.format("motion A %d %d 0 10 10 0 0 0 %d %d 0 10 10 0 0 0%n",
+          t, t, t + 1, t + 1));
+    }
+    return text.toString();
+  }
+
+  @Test(timeout = 10000)
+  public void advanceModel_WhileStreaming_StopsAtTheSafeHorizonUntilMoreIsRead()
+      throws InterruptedException {
+    PacedReadable input = new PacedReadable();
+    input.add("canvas 0 0 100 100\nshape A rectangle\n" + motions(1, 1024));
+    RecordingView view = new RecordingView();
+    FrameByFrameController controller = new FrameByFrameController(view, 60, input, true);
+    input.awaitRead();
+
+    for (int i = 0; i < 1100; i++) {
+      controller.advanceModel();
+    }
+
+    assertEquals(1024, view.frames.size());
+    assertEquals(1023, (int) view.frames.get(1023));
+    assertEquals(1024, controller.model.getCurrentFrame());
+
+    input.feed(motions(1025, 1500));
+    controller.advanceModel();
+    assertEquals(1024, view.frames.size());
+
+    input.add(motions(1501, 1600));
+    input.end();
+    while (controller.model.getSafeHorizon() != Integer.MAX_VALUE) {
+      // Nothing plays until the rest of the input has been read.
+      controller.advanceModel();
+      Thread.yield();
+    }
+
+    // The final model carried on from the frame the first one stopped at.
+    assertEquals(1025, view.frames.size());
+    assertEquals(1024, (int) view.frames.get(1024));
+    assertEquals(1025, controller.model.getCurrentFrame());
+    assertEquals(1601, controller.model.getMaximumFrame());
+  }
+
+  @Test(timeout = 10000)
+  public void advanceModel_WhenTheRestOfTheInputIsBad_ReportsIt() {
+    PacedReadable input = new PacedReadable();
+    input.add("canvas 0 0 100 100\nshape A rectangle\n" + motions(1, 1024));
+    RecordingView view = new RecordingView();
+    FrameByFrameController controller = new FrameByFrameController(view, 60, input, true);
+    List<String> errors = new ArrayList<>();
+    controller.onLoadFailure(errors::add);
+
+    input.add("motion A 1025 x\n");
+    input.end();
+    while (errors.isEmpty()) {
+      controller.advanceModel();
+      Thread.yield();
+    }
+    int played = view.frames.size();
+    controller.advanceModel();
+
+    // Once the failure is reported, nothing more is played or reported.
+    assertEquals(1, errors.size());
+    assertEquals(played, view.frames.size());
+  }
+
+  @Test(timeout = 10000)
+  public void useFrameFile_WhileStreaming_HashesTheInputOnceItIsAllReadAndNotOnThePlayer()
+      throws InterruptedException {
+    PacedReadable input = new PacedReadable();
+    input.add("canvas 0 0 100 100\nshape A rectangle\n" + motions(1, 1024));
+    RecordingView view = new RecordingView();
+    FrameByFrameController controller = new FrameByFrameController(view, 60, input, true);
+    List<Thread> hashedOn = new CopyOnWriteArrayList<>();
+    controller.useFrameFile(Paths.get("unused.frames"), () -> {
+      hashedOn.add(Thread.currentThread());
+      return 0L;
+    });
+    input.awaitRead();
+
+    controller.advanceModel();
+    assertEquals(0, hashedOn.size());
+
+    input.end();
+    while (hashedOn.isEmpty()) {
+      controller.advanceModel();
+      Thread.yield();
+    }
+
+    assertEquals(1, hashedOn.size());
+    assertNotSame(Thread.currentThread(), hashedOn.get(0));
+  }
+}
@@ -0,0 +1,89 @@
+package cs3500.animator.controller;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Input that arrives a piece at a time, for testing what happens while an animation is still being
+ * read. Whoever reads it waits for the next piece once it has read everything added so far, and
+ * the test can wait for that point too, so it knows every motion added so far has been read.
+ */
+class PacedReadable implements Readable {
+
+  private final Queue<String> pieces = new ArrayDeque<>();
+  private CharBuffer current = CharBuffer.allocate(0);
+  private boolean waiting;
+  private boolean ended;
+
+  /**
+   * Adds another piece of input, without waiting for it to be read.
+   *
+   * @param text The input.
+   */
+  synchronized void add(String text) {
+    this.pieces.add(text);
+    this.notifyAll();
+  }
+
+  /**
+   * Ends the input once every piece added so far has been read.
+   */
+  synchronized void end() {
+    this.ended = true;
+    this.notifyAll();
+  }
+
+  /**
+   * Waits until every piece added so far has been read and the reader is waiting for more.
+   *
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  synchronized void awaitRead() throws InterruptedException {
+    while (!this.waiting || !this.pieces.isEmpty()) {
+      this.wait();
+    }
+  }
+
+  /**
+   * Adds another piece of input and waits for all of it to be read.
+   *
+   * @param text The input.
+   * @throws InterruptedException If interrupted while waiting.
+   */
+  void feed(String text) throws InterruptedException {
+    this.add(text);
+    this.awaitRead();
+  }
+
+  @Override
+  public int read(CharBuffer cb) throws IOException {
+    if (!this.current.hasRemaining()) {
+      synchronized (this) {
+        this.waiting = true;
+        this.notifyAll();
+
+        while (this.pieces.isEmpty() && !this.ended) {
+          try {
+            this.wait();
+          } catch (InterruptedException e) {
+            throw new IOException(e);
+          }
+        }
+
+        this.waiting = false;
+        if (this.pieces.isEmpty()) {
+          return -1;
+        }
+        this.current = CharBuffer.wrap(this.pieces.remove());
+      }
+    }
+
+    int count = Math.min(cb.remaining(), this.current.remaining());
+    for (int i = 0; i < count; i++) {
+      cb.put(this.current.get());
+    }
+    return count;
+  }
+}
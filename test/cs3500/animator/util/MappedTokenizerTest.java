@@ -0,0 +1,71 @@
+package cs3500.animator.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for parsing the bytes of a mapped file directly, and for when AnimationReader does so.
+ */
+public class MappedTokenizerTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private static List<String> words(AnimationTokenizer tokenizer) {
+    List<String> words = new ArrayList<>();
+
+    while (tokenizer.hasNext()) {
+      words.add(tokenizer.next());
+    }
+    return words;
+  }
+
+  private List<String> readMapped(Path file, Charset charset) throws IOException {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      return words(new MappedTokenizer(channel, 0, channel.size(), charset));
+    }
+  }
+
+  private List<String> readAsText(Path file, Charset charset) throws IOException {
+    try (InputStreamReader reader = new InputStreamReader(Files.newInputStream(file), charset)) {
+      return words(new ReadableTokenizer(reader));
+    }
+  }
+
+  @Test
+  public void canParseBytes_UnicodeAndAscii_AreParsedAsBytes() {
+    assertTrue(AnimationReader.canParseBytes(StandardCharsets.UTF_8));
+    assertTrue(AnimationReader.canParseBytes(StandardCharsets.US_ASCII));
+    assertFalse(AnimationReader.canParseBytes(StandardCharsets.ISO_8859_1));
+    assertFalse(AnimationReader.canParseBytes(StandardCharsets.UTF_16));
+  }
+
+  @Test
+  public void next_NonAsciiBytes_MatchReadingAsText() throws IOException {
+    Path file = this.folder.newFile("animation.txt").toPath();
+    Files.write(file, "shape \u00e9t\u00e9 ellipse\nmotion \ud83d\ude00 1 2\n"
+        .getBytes(StandardCharsets.UTF_8));
+
+    for (Charset charset : new Charset[]{StandardCharsets.UTF_8, StandardCharsets.US_ASCII}) {
+      assertEquals(this.readAsText(file, charset), this.readMapped(file, charset));
+    }
+    // Each byte of a character that isn't ASCII is a replacement character of its own.
+    assertEquals("\ufffd\ufffdt\ufffd\ufffd",
+        this.readMapped(file, StandardCharsets.US_ASCII).get(1));
+  }
+}
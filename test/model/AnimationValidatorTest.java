@@ -0,0 +1,168 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import model.ValidationResult.Kind;
+import model.direction.ColorDirection;
+import model.direction.CreateDirection;
+import model.direction.IDirection;
+import model.direction.MoveDirection;
+import model.shape.CoordinateType;
+import model.shape.Rectangle;
+import org.junit.Test;
+
+/**
+ * Tests for checking an animation's directions for overlaps and gaps with AnimationValidator.
+ */
+public class AnimationValidatorTest {
+
+  @Test
+  public void validateAnimation_WithManyProblems_ReportsAllOfThem() {
+    SimpleAnimationModel model = new SimpleAnimationModel();
+    model.initShape("A", "rectangle");
+    model.createShape("A", 1, 0, 0, 5, 5, CoordinateType.CORNER, 0, 0, 0);
+    model.moveShape("A", 10, 10, 2, 10);
+    model.moveShape("A", 20, 20, 5, 12);
+    model.recolorShape("A", 1, 2, 3, 20, 30);
+
+    ValidationResult result = model.validateAnimation();
+
+    assertFalse(result.isValid());
+    assertEquals(2, result.getProblems().size());
+    assertEquals(Kind.OVERLAP, result.getProblems().get(0).getKind());
+    assertEquals("Shape 'A' has a MOVE change overlap.",
+        result.getProblems().get(0).getMessage());
+    assertEquals(5, result.getProblems().get(0).getStartFrame());
+    assertEquals(10, result.getProblems().get(0).getEndFrame());
+    assertEquals(Kind.GAP, result.getProblems().get(1).getKind());
+    assertEquals(13, result.getProblems().get(1).getStartFrame());
+    assertEquals(19, result.getProblems().get(1).getEndFrame());
+    assertEquals(30, result.getLastFrame());
+    assertFalse(model.isAnimationInitialized());
+  }
+
+  @Test
+  public void validateAnimation_WithoutProblems_IsValid() {
+    SimpleAnimationModel model = new SimpleAnimationModel();
+    model.initShape("A", "rectangle");
+    model.createShape("A", 1, 0, 0, 5, 5, CoordinateType.CORNER, 0, 0, 0);
+    model.moveShape("A", 10, 10, 2, 10);
+    model.recolorShape("A", 1, 2, 3, 5, 30);
+
+    assertTrue(model.validateAnimation().isValid());
+  }
+
+  @Test
+  public void validateShape_WithDirectionsInsideALongerOne_ReportsEachOverlap() {
+    Rectangle rectangle = new Rectangle("R");
+    List<IDirection> directions = new ArrayList<>();
+    directions.add(new MoveDirection(rectangle, 0, 0, 1, 100));
+    directions.add(new MoveDirection(rectangle, 0, 0, 5, 10));
+    directions.add(new MoveDirection(rectangle, 0, 0, 20, 30));
+
+    ValidationResult result = AnimationValidator.validateShape("R", directions);
+
+    assertEquals(3, result.getProblems().size());
+    assertEquals("Shape 'R' has a MOVE change overlap. (frames 5 to 10)",
+        result.getProblems().get(0).toString());
+    assertEquals("Shape 'R' has a MOVE change overlap. (frames 20 to 30)",
+        result.getProblems().get(1).toString());
+    assertEquals(Kind.GAP, result.getProblems().get(2).getKind());
+    assertEquals(100, result.getLastFrame());
+  }
+
+  @Test
+  public void validateShape_MatchesCheckingEveryPair() {
+    Random random = new Random(3500);
+    Rectangle rectangle = new Rectangle("R");
+
+    for (int run = 0; run < 500; run++) {
+      List<IDirection> directions = new ArrayList<>();
+
+      for (int i = 0; i < 8; i++) {
+        int start = random.nextInt(30);
+        int end = start + random.nextInt(6);
+
+        switch (random.nextInt(3)) {
+          case 0:
+            directions.add(new CreateDirection(rectangle, start, 0, 0, 1, 1, 0, 0, 0,
+                CoordinateType.CORNER));
+            break;
+          case 1:
+            directions.add(new MoveDirection(rectangle, 0, 0, start, end));
+            break;
+          default:
+            directions.add(new ColorDirection(rectangle, 0, 0, 0, start, end));
+        }
+      }
+      Collections.sort(directions);
+
+      String expected = this.firstProblemOfEveryPair(directions);
+      ValidationResult result = AnimationValidator.validateShape("R", directions);
+
+      assertEquals(expected == null, result.isValid());
+      if (expected != null) {
+        assertEquals(expected, result.getProblems().get(0).getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void validate_InParallel_MatchesInOrder() {
+    Rectangle rectangle = new Rectangle("R");
+    List<String> shapeNames = new ArrayList<>();
+    List<List<IDirection>> directions = new ArrayList<>();
+
+    for (int i = 0; i < 100; i++) {
+      String name = "S" + i;
+      List<IDirection> shapeDirections = new ArrayList<>();
+      shapeDirections.add(new MoveDirection(rectangle, 0, 0, 1, 10));
+      shapeDirections.add(new MoveDirection(rectangle, 0, 0, 10 - i % 3, 20 + i % 5));
+
+      shapeNames.add(name);
+      directions.add(shapeDirections);
+    }
+
+    ValidationResult inOrder = AnimationValidator.validate(shapeNames, directions, false);
+    ValidationResult inParallel = AnimationValidator.validate(shapeNames, directions, true);
+
+    assertEquals(inOrder.getProblems().toString(), inParallel.getProblems().toString());
+    assertEquals(inOrder.getLastFrame(), inParallel.getLastFrame());
+  }
+
+  /**
+   * Finds the first problem by comparing every direction to every direction after it.
+   */
+  private String firstProblemOfEveryPair(List<IDirection> directions) {
+    for (int i = 0; i < directions.size(); i++) {
+      IDirection first = directions.get(i);
+
+      for (int j = i + 1; j < directions.size(); j++) {
+        IDirection second = directions.get(j);
+
+        if (first.getType().equals("CREATE")
+            && second.getStartFrame() <= first.getEndFrame()) {
+          return "Shape 'R' has a CREATE change overlap.";
+        } else if (second.getStartFrame() >= first.getEndFrame()) {
+          break;
+        } else if (first.getType().equals(second.getType())) {
+          return String.format("Shape 'R' has a %s change overlap.", first.getType());
+        }
+      }
+    }
+
+    for (int i = 0; i < directions.size() - 1; i++) {
+      if (directions.get(i).getEndFrame() < directions.get(i + 1).getStartFrame() - 1) {
+        return "Shape 'R' has a frame gap.";
+      }
+    }
+
+    return null;
+  }
+}
@@ -0,0 +1,136 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import model.shape.CoordinateType;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for reading a compiled animation through separate cursors.
+ */
+public class CompiledAnimationTest {
+
+  private SimpleAnimationModel model;
+
+  @Before
+  public void setUp() {
+    this.model = new SimpleAnimationModel();
+
+    for (int i = 0; i < 20; i++) {
+      String name = "S" + i;
+      this.model.initShape(name, i % 2 == 0 ? "rectangle" : "oval");
+      this.model.createShape(name, 1, i, i, 10, 10, CoordinateType.CORNER, 0, 0, 0);
+      this.model.moveShape(name, 100 + i, 50, 2, 90 + i);
+      this.model.recolorShape(name, 255, i * 10, 0, 90 + i, 140);
+      if (i % 3 == 0) {
+        this.model.removeShape(name, 150 + i);
+      }
+    }
+
+    this.model.initializeAnimation();
+  }
+
+  @Test
+  public void newCursor_OnManyThreads_MatchesTheModel() throws Exception {
+    CompiledAnimation animation = this.model.getCompiledAnimation();
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    List<Future<List<String>>> results = new ArrayList<>();
+
+    for (int t = 0; t < 4; t++) {
+      results.add(executor.submit(() -> {
+        List<String> frames = new ArrayList<>();
+        AnimationCursor cursor = animation.newCursor();
+
+        while (!cursor.isFinished()) {
+          frames.add(cursor.getShapeStates().toString());
+          cursor.advance();
+        }
+        return frames;
+      }));
+    }
+
+    for (Future<List<String>> result : results) {
+      List<String> frames = result.get();
+      assertEquals(this.model.getMaximumFrame() + 1, frames.size());
+
+      for (int frame = 0; frame < frames.size(); frame++) {
+        assertEquals(this.model.getShapeStatesAtFrame(frame).toString(), frames.get(frame));
+      }
+    }
+    executor.shutdown();
+  }
+
+  @Test
+  public void newCursor_CursorsKeepTheirOwnFrames() {
+    CompiledAnimation animation = this.model.getCompiledAnimation();
+    AnimationCursor first = animation.newCursor();
+    AnimationCursor second = animation.newCursor();
+
+    first.seek(120);
+    second.advance();
+
+    assertEquals(120, first.getFrame());
+    assertEquals(1, second.getFrame());
+    assertEquals(this.model.getShapesAtFrame(120).toString(), first.getShapes().toString());
+    assertEquals(20, animation.getShapeNames().size());
+  }
+
+  @Test
+  public void getCompiledAnimation_AfterEdit_LeavesTheOldAnimationAlone() {
+    CompiledAnimation before = this.model.getCompiledAnimation();
+    AnimationCursor cursor = before.newCursor();
+    cursor.seek(89);
+    String beforeEdit = cursor.getShapeStates().toString();
+
+    this.model.editMove("S0", 2, 90, 0, 0);
+
+    assertEquals(beforeEdit, cursor.getShapeStates().toString());
+    AnimationCursor after = this.model.getCompiledAnimation().newCursor();
+    after.seek(89);
+    assertEquals(this.model.getShapeStatesAtFrame(89).toString(), after.getShapeStates().toString());
+    assertFalse(beforeEdit.equals(after.getShapeStates().toString()));
+  }
+
+  @Test
+  public void getCompiledAnimation_BeforeInitializing_ThrowsIllegalStateException() {
+    try {
+      new SimpleAnimationModel().getCompiledAnimation();
+      fail();
+    } catch (IllegalStateException e) {
+      assertTrue(e.getMessage().contains("initialized"));
+    }
+  }
+
+  @Test
+  public void getCompiledAnimation_AfterPlayingPastRemovals_KeepsTheRemovedShapes() {
+    String expected = this.model.getShapeStatesAtFrame(100).toString();
+
+    for (int frame = 0; frame < 200; frame++) {
+      this.model.advanceShapes();
+    }
+
+    CompiledAnimation animation = this.model.getCompiledAnimation();
+    AnimationCursor cursor = animation.newCursor();
+    cursor.seek(100);
+    assertEquals(20, animation.getShapeNames().size());
+    assertEquals(expected, cursor.getShapeStates().toString());
+  }
+
+  @Test
+  public void getMemoryFootprint_BeforeCompiling_LeavesTheCompiledAnimationOut() {
+    long uncompiled = this.model.getMemoryFootprint();
+
+    CompiledAnimation animation = this.model.getCompiledAnimation();
+
+    assertEquals(uncompiled + animation.getFootprint(), this.model.getMemoryFootprint());
+  }
+}
@@ -0,0 +1,80 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import model.direction.IDirection;
+import model.direction.MoveDirection;
+import model.shape.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for finding the directions running on a frame with a DirectionIndex.
+ */
+public class DirectionIndexTest {
+
+  private List<IDirection> directions;
+  private DirectionIndex index;
+
+  @Before
+  public void setUp() {
+    Random random = new Random(3500);
+    Rectangle rectangle = new Rectangle("R");
+    this.directions = new ArrayList<>();
+
+    for (int i = 0; i < 200; i++) {
+      int start = random.nextInt(300);
+      int end = start + random.nextInt(i % 10 == 0 ? 150 : 10);
+      this.directions.add(new MoveDirection(rectangle, 0, 0, start, end));
+    }
+
+    this.index = new DirectionIndex(this.directions);
+  }
+
+  @Test
+  public void getDirectionsAt_MatchesScanningEveryDirection() {
+    List<IDirection> sorted = new ArrayList<>(this.directions);
+    sorted.sort(null);
+
+    for (int frame = -1; frame <= 460; frame++) {
+      List<IDirection> expected = new ArrayList<>();
+
+      for (IDirection direction : sorted) {
+        if (direction.getStartFrame() <= frame && direction.getEndFrame() >= frame) {
+          expected.add(direction);
+        }
+      }
+
+      assertEquals("frame " + frame, expected, this.index.getDirectionsAt(frame));
+    }
+  }
+
+  @Test
+  public void getDirectionsBetween_FindsEverythingTouchingTheRange() {
+    int found = 0;
+
+    for (IDirection direction : this.directions) {
+      if (direction.getStartFrame() <= 60 && direction.getEndFrame() >= 50) {
+        found++;
+      }
+    }
+
+    assertEquals(found, this.index.getDirectionsBetween(50, 60).size());
+  }
+
+  @Test
+  public void getBoundaries_IsSortedWithoutRepeats() {
+    Rectangle rectangle = new Rectangle("R");
+    DirectionIndex small = new DirectionIndex(Arrays.asList(
+        new MoveDirection(rectangle, 0, 0, 10, 20),
+        new MoveDirection(rectangle, 0, 0, 1, 10),
+        new MoveDirection(rectangle, 0, 0, 20, 20)));
+
+    assertEquals(Arrays.asList(1, 10, 20), small.getBoundaries());
+    assertEquals(3, small.size());
+  }
+}
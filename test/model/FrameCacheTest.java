@@ -0,0 +1,159 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+import model.shape.CoordinateType;
+import model.shape.IShape;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for caching rendered frames in windows and evicting the least recently used window.
+ */
+public class FrameCacheTest {
+
+  private List<Integer> rendered;
+  private FrameCache cache;
+
+  @Before
+  public void setUp() {
+    this.rendered = new ArrayList<>();
+    this.cache = new FrameCache(10, 2, 1,
+        (store, firstFrame, frameCount) -> this.rendered.add(firstFrame));
+  }
+
+  @Test
+  public void getWindow_SameWindowTwice_RendersOnce() {
+    FrameStore first = this.cache.getWindow(3);
+    FrameStore second = this.cache.getWindow(9);
+
+    assertSame(first, second);
+    assertEquals(1, this.rendered.size());
+    assertEquals(1, this.cache.getStatistics().getHits());
+    assertEquals(1, this.cache.getStatistics().getMisses());
+  }
+
+  @Test
+  public void getWindow_PastMaxWindows_EvictsLeastRecentlyUsed() {
+    this.cache.getWindow(0);
+    this.cache.getWindow(10);
+    this.cache.getWindow(0);
+    this.cache.getWindow(20);
+    this.cache.getWindow(5);
+    this.cache.getWindow(15);
+
+    assertEquals(2, this.cache.getWindowCount());
+    assertEquals(2, this.cache.getStatistics().getEvictions());
+    assertEquals("[0, 10, 20, 10]", this.rendered.toString());
+  }
+
+  @Test
+  public void rerender_OnlyRendersCachedPartsOfTheRange() {
+    List<String> rerendered = new ArrayList<>();
+    this.cache.getWindow(0);
+    this.cache.getWindow(25);
+
+    this.cache.rerender(5, 27, (store, firstFrame, frameCount) ->
+        rerendered.add(firstFrame + "+" + frameCount));
+
+    assertEquals("[5+5, 20+8]", rerendered.toString());
+    assertEquals(2, this.rendered.size());
+  }
+
+  @Test
+  public void frameCache_WithEmptyWindows_ThrowsIllegalArgumentException() {
+    try {
+      new FrameCache(0, 1, 1, (store, firstFrame, frameCount) -> { });
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("Frame cache windows must hold at least one frame.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void getShapesAtFrame_WithSmallCache_MatchesLargeCache() {
+    SimpleAnimationModel model = new SimpleAnimationModel();
+    model.initShape("A", "rectangle");
+    model.createShape("A", 1, 10, 10, 5, 5, CoordinateType.CORNER, 0, 0, 0);
+    model.moveShape("A", 100, 40, 2, 30);
+    model.recolorShape("A", 200, 100, 50, 30, 40);
+    model.removeShape("A", 45);
+    model.initShape("B", "oval");
+    model.createShape("B", 1, 0, 0, 10, 10, CoordinateType.CENTER, 255, 255, 255);
+    model.stallShape("B", 2, 50);
+    model.initializeAnimation();
+
+    SimpleAnimationModel smallModel = (SimpleAnimationModel) model.getCopy();
+    smallModel.setFrameCacheSize(4, 1);
+
+    for (int frame = 50; frame >= -1; frame--) {
+      List<IShape> expected = model.getShapesAtFrame(frame);
+      List<IShape> actual = smallModel.getShapesAtFrame(frame);
+
+      assertEquals("frame " + frame, expected.toString(), actual.toString());
+    }
+
+    assertEquals(1, smallModel.getFrameCacheStatistics().getCachedWindows());
+    assertEquals(12, smallModel.getFrameCacheStatistics().getEvictions());
+  }
+
+  @Test
+  public void setMemoryBudget_BelowCachedWindows_EvictsLeastRecentlyUsed() {
+    long windowFootprint = FrameStore.estimateEmptyFootprint(1, 10);
+    this.cache.getWindow(0);
+    this.cache.getWindow(10);
+    assertEquals(2 * windowFootprint, this.cache.getFootprint());
+
+    this.cache.setMemoryBudget(windowFootprint + 1);
+
+    assertEquals(1, this.cache.getWindowCount());
+    assertEquals(windowFootprint, this.cache.getFootprint());
+    assertEquals(1, this.cache.getStatistics().getEvictions());
+    this.cache.getWindow(15);
+    assertEquals(1, this.cache.getStatistics().getHits());
+  }
+
+  @Test
+  public void getWindow_NoWindowFitsBudget_RendersSingleFramesUncached() {
+    this.cache.setMemoryBudget(FrameStore.estimateEmptyFootprint(1, 10) - 1);
+
+    FrameStore store = this.cache.getWindow(3);
+    this.cache.getWindow(3);
+
+    assertEquals(false, store.hasFrame(2));
+    assertEquals(true, store.hasFrame(3));
+    assertEquals(false, store.hasFrame(4));
+    assertEquals("[3, 3]", this.rendered.toString());
+    assertEquals(0, this.cache.getWindowCount());
+    assertEquals(0, this.cache.getFootprint());
+    assertEquals(2, this.cache.getStatistics().getUncachedRenders());
+  }
+
+  @Test
+  public void getShapesAtFrame_WithNoMemoryBudget_MatchesUnlimitedBudget() {
+    SimpleAnimationModel model = new SimpleAnimationModel();
+    model.initShape("A", "rectangle");
+    model.createShape("A", 1, 10, 10, 5, 5, CoordinateType.CORNER, 0, 0, 0);
+    model.moveShape("A", 100, 40, 2, 30);
+    model.recolorShape("A", 200, 100, 50, 30, 40);
+    model.initializeAnimation();
+
+    SimpleAnimationModel budgetModel = (SimpleAnimationModel) model.getCopy();
+    budgetModel.setMemoryBudget(0);
+    long fixedFootprint = model.getMemoryFootprint();
+
+    for (int frame = 0; frame <= 40; frame++) {
+      assertEquals("frame " + frame, model.getShapesAtFrame(frame).toString(),
+          budgetModel.getShapesAtFrame(frame).toString());
+    }
+
+    assertEquals(0, budgetModel.getFrameCacheStatistics().getCachedWindows());
+    assertEquals(41, budgetModel.getFrameCacheStatistics().getUncachedRenders());
+    assertEquals(true, model.getMemoryFootprint() > fixedFootprint);
+    assertEquals(true, budgetModel.getMemoryFootprint() < model.getMemoryFootprint());
+  }
+}
@@ -0,0 +1,143 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import model.shape.CoordinateType;
+import model.shape.IShape;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests for keeping rendered frames in a memory mapped FrameFile between runs.
+ */
+public class FrameFileTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Path file;
+
+  private SimpleAnimationModel getModel() {
+    SimpleAnimationModel model = new SimpleAnimationModel();
+    model.initShape("A", "rectangle");
+    model.createShape("A", 1, 10, 10, 5, 5, CoordinateType.CORNER, 0, 0, 0);
+    model.moveShape("A", 100, 40, 2, 30);
+    model.recolorShape("A", 200, 100, 50, 30, 40);
+    model.initShape("B", "oval");
+    model.createShape("B", 1, 0, 0, 10, 10, CoordinateType.CENTER, 255, 255, 255);
+    model.stallShape("B", 2, 50);
+    model.initializeAnimation();
+    return model;
+  }
+
+  @Before
+  public void setUp() {
+    this.file = this.folder.getRoot().toPath().resolve("animation.txt.framecache");
+  }
+
+  @Test
+  public void setFrameFile_ColdThenWarm_MatchesRenderedFrames() throws InterruptedException {
+    SimpleAnimationModel expected = this.getModel();
+    SimpleAnimationModel cold = this.getModel();
+    cold.setFrameFile(this.file, 42);
+
+    for (int frame = -1; frame <= 51; frame++) {
+      assertEquals("frame " + frame, expected.getShapesAtFrame(frame).toString(),
+          cold.getShapesAtFrame(frame).toString());
+    }
+    assertTrue(cold.getFrameCacheStatistics().getMisses() > 0);
+    cold.awaitFrameFile();
+    assertTrue(Files.exists(this.file));
+
+    SimpleAnimationModel warm = this.getModel();
+    warm.setFrameFile(this.file, 42);
+
+    for (int frame = 0; frame <= 50; frame++) {
+      assertEquals("frame " + frame, expected.getShapeStatesAtFrame(frame),
+          warm.getShapeStatesAtFrame(frame));
+    }
+    assertEquals(expected.getChangesAtFrame(20).toString(),
+        warm.getChangesAtFrame(20).toString());
+    assertEquals(0, warm.getFrameCacheStatistics().getMisses());
+  }
+
+  @Test
+  public void setFrameFile_ChangedWhileWriting_WritesTheModelAsItWas()
+      throws InterruptedException {
+    SimpleAnimationModel model = this.getModel();
+    model.setFrameFile(this.file, 42);
+    model.getShapesAtFrame(0);
+
+    model.editMove("A", 2, 30, 70, 80);
+    model.awaitFrameFile();
+
+    SimpleAnimationModel warm = this.getModel();
+    warm.setFrameFile(this.file, 42);
+
+    assertEquals(this.getModel().getShapeStatesAtFrame(30), warm.getShapeStatesAtFrame(30));
+    assertEquals(0, warm.getFrameCacheStatistics().getMisses());
+  }
+
+  @Test
+  public void map_DifferentKeyOrSize_IsNotUsed() throws IOException, InterruptedException {
+    SimpleAnimationModel model = this.getModel();
+    model.setFrameFile(this.file, 42);
+    model.getShapesAtFrame(0);
+    model.awaitFrameFile();
+    IShape[] blanks = {
+        ModelUtil.getKnownShapes("A").get("rectangle"),
+        ModelUtil.getKnownShapes("B").get("oval")};
+
+    assertNotNull(FrameFile.map(this.file, 42, blanks, 51));
+    assertNull(FrameFile.map(this.file, 43, blanks, 51));
+    assertNull(FrameFile.map(this.file, 42, blanks, 52));
+    assertNull(FrameFile.map(this.folder.getRoot().toPath().resolve("missing"), 42, blanks, 51));
+
+    // A file from an older renderer holds frames tweened the old way.
+    try (FileChannel channel = FileChannel.open(this.file, StandardOpenOption.WRITE)) {
+      ByteBuffer version = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.nativeOrder());
+      channel.write(version.putInt(0, FrameFile.RENDERER_VERSION - 1), 6 * Integer.BYTES);
+    }
+    assertNull(FrameFile.map(this.file, 42, blanks, 51));
+  }
+
+  @Test
+  public void editMove_AfterMapping_StopsUsingTheFile() {
+    SimpleAnimationModel model = this.getModel();
+    model.setFrameFile(this.file, 42);
+    model.getShapesAtFrame(0);
+
+    model.editMove("A", 2, 30, 70, 80);
+
+    assertEquals(70, model.getShapeAtFrame("A", 30).getX());
+    assertTrue(model.getFrameCacheStatistics().getMisses() > 0);
+  }
+
+  @Test
+  public void editMove_AfterWritingTheFile_KeepsTheFrameCache() throws InterruptedException {
+    SimpleAnimationModel model = this.getModel();
+    model.setFrameFile(this.file, 42);
+    model.getShapesAtFrame(0);
+    model.awaitFrameFile();
+
+    model.editMove("A", 2, 30, 70, 80);
+    model.getShapesAtFrame(45);
+
+    // Only the edited frames are rendered again, from the same cache the first lookup filled.
+    assertEquals(1, model.getFrameCacheStatistics().getMisses());
+    assertTrue(model.getFrameCacheStatistics().getHits() > 0);
+    assertEquals(70, model.getShapeAtFrame("A", 30).getX());
+  }
+}
@@ -0,0 +1,88 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import model.shape.CoordinateType;
+import model.shape.IShape;
+import model.shape.Oval;
+import model.shape.Rectangle;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests for storing shapes frame by frame in a FrameStore.
+ */
+public class FrameStoreTest {
+
+  private FrameStore store;
+  private Rectangle rectangle;
+
+  @Before
+  public void setUp() {
+    this.store = new FrameStore(2, 10, 5);
+    this.rectangle = new Rectangle("R");
+    this.rectangle.create(3, 4, 5, 6, CoordinateType.CENTER, 10, 20, 30);
+  }
+
+  @Test
+  public void put_WithShape_StoresEveryValue() {
+    this.store.put(1, 12, this.rectangle);
+
+    assertTrue(this.store.isPresent(1, 12));
+    assertTrue(this.store.isVisible(1, 12));
+    assertEquals(3, this.store.getX(1, 12));
+    assertEquals(4, this.store.getY(1, 12));
+    assertEquals(5, this.store.getWidth(1, 12));
+    assertEquals(6, this.store.getHeight(1, 12));
+    assertEquals(0x0A141E, this.store.getColor(1, 12));
+    assertEquals(CoordinateType.CENTER, this.store.getCoordType(1, 12));
+  }
+
+  @Test
+  public void getShape_RebuildsTheSameShape() {
+    this.store.put(0, 10, this.rectangle);
+    this.store.put(0, 11, new Oval("O"));
+
+    IShape shape = this.store.getShape(0, 10, new Rectangle("R"));
+    IShape blank = this.store.getShape(0, 11, new Oval("O"));
+
+    assertEquals("RECTANGLE", shape.getShapeType());
+    assertEquals(this.rectangle.toString(), shape.toString());
+    assertTrue(shape.isVisible());
+    assertFalse(blank.isVisible());
+  }
+
+  @Test
+  public void getShape_OutsideOfStore_ReturnsNull() {
+    this.store.put(0, 10, this.rectangle);
+
+    assertNull(this.store.getShape(0, 9, new Rectangle("R")));
+    assertNull(this.store.getShape(0, 15, new Rectangle("R")));
+    assertNull(this.store.getShape(1, 10, new Rectangle("R")));
+    assertNull(this.store.getShape(2, 10, new Rectangle("R")));
+  }
+
+  @Test
+  public void frameStore_WithNegativeSize_ThrowsIllegalArgumentException() {
+    try {
+      new FrameStore(1, 0, -1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("Frame store sizes cannot be negative.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void frameStore_WithTooManySlots_ThrowsIllegalArgumentException() {
+    try {
+      new FrameStore(1 << 16, 0, 1 << 16);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("Frame store cannot hold 65536 shapes over 65536 frames.", e.getMessage());
+    }
+  }
+}
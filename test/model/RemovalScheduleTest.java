@@ -0,0 +1,51 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+/**
+ * Tests for removing shapes in frame order with a RemovalSchedule.
+ */
+public class RemovalScheduleTest {
+
+  @Test
+  public void removeThrough_OnlyGivesShapesRemovedByThatFrame() {
+    int[] removalFrames = {7, -1, 3, 7, 12, 99};
+    RemovalSchedule schedule = new RemovalSchedule(removalFrames, 5, -1);
+    List<Integer> removed = new ArrayList<>();
+
+    schedule.removeThrough(2, removed::add);
+    assertEquals("[]", removed.toString());
+
+    schedule.removeThrough(7, removed::add);
+    assertEquals("[2, 0, 3]", removed.toString());
+    assertEquals(1, schedule.getPendingCount());
+
+    schedule.removeThrough(7, removed::add);
+    schedule.removeThrough(50, removed::add);
+    assertEquals("[2, 0, 3, 4]", removed.toString());
+    assertEquals(0, schedule.getPendingCount());
+  }
+
+  @Test
+  public void restoreFrom_GivesBackRemovalsOnOrAfterThatFrame() {
+    int[] removalFrames = {7, -1, 3, 7, 12};
+    RemovalSchedule schedule = new RemovalSchedule(removalFrames, 5, -1);
+    List<Integer> restored = new ArrayList<>();
+    schedule.removeThrough(50, id -> { });
+
+    schedule.restoreFrom(8, restored::add);
+    assertEquals("[4]", restored.toString());
+
+    schedule.restoreFrom(4, restored::add);
+    assertEquals("[4, 3, 0]", restored.toString());
+    assertEquals(3, schedule.getPendingCount());
+
+    List<Integer> removed = new ArrayList<>();
+    schedule.removeThrough(7, removed::add);
+    assertEquals("[0, 3]", removed.toString());
+  }
+}
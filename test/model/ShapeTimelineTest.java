@@ -0,0 +1,108 @@
+package model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import model.shape.CoordinateType;
+import model.shape.IShape;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests that looking up a frame straight from a shape's timeline gives the same shape as playing
+ * the animation frame by frame.
+ */
+public class ShapeTimelineTest {
+
+  private SimpleAnimationModel model;
+
+  @Before
+  public void setUp() {
+    this.model = new SimpleAnimationModel();
+    this.model.initShape("A", "rectangle");
+    this.model.initShape("B", "oval");
+
+    this.model.createShape("A", 1, 10, 10, 5, 5, CoordinateType.CORNER, 0, 0, 0);
+    this.model.moveShape("A", 100, 40, 2, 20);
+    this.model.resizeShape("A", 30, 15, 2, 12);
+    this.model.moveShape("A", 0, 0, 20, 21);
+    this.model.recolorShape("A", 200, 100, 50, 21, 40);
+
+    this.model.createShape("B", 3, 0, 0, 10, 10, CoordinateType.CENTER, 255, 255, 255);
+    this.model.stallShape("B", 4, 10);
+    this.model.moveShape("B", 7, 9, 10, 11);
+  }
+
+  @Test
+  public void getShapeAtFrame_MatchesFrameByFramePlayback() {
+    SimpleAnimationModel playback = (SimpleAnimationModel) this.model.getCopy();
+    playback.initializeAnimation();
+    this.model.initializeAnimation();
+
+    for (int frame = 0; frame <= this.model.getMaximumFrame(); frame++) {
+      playback.advanceShapes();
+      List<IShape> played = playback.getShapes();
+      List<IShape> looked = this.model.getShapesAtFrame(frame);
+
+      assertEquals(played.size(), looked.size());
+
+      for (int i = 0; i < played.size(); i++) {
+        assertEquals(played.get(i).getName(), looked.get(i).getName());
+        assertEquals(played.get(i).isVisible(), looked.get(i).isVisible());
+        assertEquals("frame " + frame, played.get(i).toString(), looked.get(i).toString());
+      }
+    }
+  }
+
+  @Test
+  public void getShapesAtFrame_OnRenderingPool_MatchesRenderingSerially() {
+    for (int i = 0; i < 40; i++) {
+      String name = "S" + i;
+      this.model.initShape(name, i % 2 == 0 ? "rectangle" : "oval");
+      this.model.createShape(name, i, i, i, 10, 10, CoordinateType.CORNER, i, i, i);
+      this.model.moveShape(name, 3 * i, 300 - i, i + 1, i + 50);
+      this.model.recolorShape(name, 255 - i, 100, 5 * i, i + 20, i + 60);
+    }
+    this.model.initializeAnimation();
+
+    SimpleAnimationModel serial = (SimpleAnimationModel) this.model.getCopy();
+    serial.setRenderingPool(null);
+    this.model.setRenderingPool(new ForkJoinPool(4));
+    this.model.setFrameCacheSize(16, 2);
+
+    for (int frame = 0; frame <= this.model.getMaximumFrame(); frame++) {
+      assertEquals("frame " + frame, serial.getShapesAtFrame(frame).toString(),
+          this.model.getShapesAtFrame(frame).toString());
+    }
+  }
+
+  @Test
+  public void getShapeAtFrame_BeforeCreate_IsNotVisible() {
+    this.model.initializeAnimation();
+
+    assertFalse(this.model.getShapeAtFrame("B", 2).isVisible());
+    assertTrue(this.model.getShapeAtFrame("B", 3).isVisible());
+  }
+
+  @Test
+  public void getShapeAtFrame_OutsideAnimation_ReturnsNull() {
+    this.model.initializeAnimation();
+
+    assertNull(this.model.getShapeAtFrame("A", -1));
+    assertNull(this.model.getShapeAtFrame("A", this.model.getMaximumFrame() + 1));
+  }
+
+  @Test
+  public void getShapeAtFrame_WithoutInitialization_LeavesDirectionsAlone() {
+    this.model.stallShape("A", 41, 45);
+    this.model.moveShape("A", 3, 3, 40, 41);
+    IShape shape = this.model.getShapeAtFrame("A", 41);
+
+    assertEquals(3, shape.getX());
+    assertEquals("MOVE", this.model.getDirectionsForShape("A").get(6).getType());
+  }
+}
@@ -1,6 +1,7 @@
 package model;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -555,4 +556,284 @@ public class SimpleAnimationModelTest {
         this.modelWithShapes.getShapes().get(0).getName() + " "
             + this.modelWithShapes.getShapes().get(1).getName());
   }
-}
\ No newline at end of file
+
+  @Test
+  public void getCopy_ThenChangingTheCopy_LeavesTheOriginalAlone() {
+    ISimpleAnimationModel copy = this.modelWithShapesAndDirections.getCopy();
+    copy.moveShape("A", 5, 5, 3, 6);
+    copy.initShape("C", "rectangle");
+
+    assertEquals(3, this.modelWithShapesAndDirections.getDirectionsForShape("A").size());
+    assertEquals(4, copy.getDirectionsForShape("A").size());
+    assertEquals(2, this.modelWithShapesAndDirections.getShapes().size());
+    assertEquals(3, copy.getShapes().size());
+  }
+
+  @Test
+  public void getCopy_ThenPlayingTheOriginal_LeavesTheCopyAlone() {
+    this.modelWithShapesAndDirections.moveShape("A", 9, 9, 3, 6);
+    this.modelWithShapesAndDirections.removeShape("A", 7);
+    this.modelWithShapesAndDirections.stallShape("B", 3, 8);
+    this.modelWithShapesAndDirections.initializeAnimation();
+    ISimpleAnimationModel copy = this.modelWithShapesAndDirections.getCopy();
+
+    for (int i = 0; i < 8; i++) {
+      this.modelWithShapesAndDirections.advanceShapes();
+    }
+
+    assertEquals(1, this.modelWithShapesAndDirections.getShapes().size());
+    assertEquals(2, copy.getShapes().size());
+    assertEquals(0, copy.getShape("A").getX());
+
+    for (int i = 0; i < 6; i++) {
+      copy.advanceShapes();
+    }
+
+    assertEquals(9, copy.getShape("A").getX());
+  }
+
+  /**
+   * Builds a model with one shape that moves twice and recolors once, ending on the given spots.
+   */
+  private SimpleAnimationModel getEditableModel(int firstX, int recolorRed) {
+    SimpleAnimationModel model = new SimpleAnimationModel();
+    model.initShape("A", "rectangle");
+    model.createShape("A", 1, 0, 0, 10, 10, CoordinateType.CORNER, 0, 0, 0);
+    model.moveShape("A", firstX, 20, 2, 40);
+    model.moveShape("A", 300, 300, 40, 80);
+    model.recolorShape("A", recolorRed, 0, 0, 80, 120);
+    model.initShape("B", "oval");
+    model.createShape("B", 1, 5, 5, 10, 10, CoordinateType.CENTER, 9, 9, 9);
+    model.stallShape("B", 2, 150);
+    model.initializeAnimation();
+    return model;
+  }
+
+  @Test
+  public void editMove_AfterRendering_MatchesModelBuiltWithTheEdit() {
+    SimpleAnimationModel model = this.getEditableModel(100, 255);
+    model.setFrameCacheSize(16, 16);
+    model.getShapesAtFrame(0);
+    model.getShapesAtFrame(60);
+    long misses = model.getFrameCacheStatistics().getMisses();
+
+    model.editMove("A", 2, 40, 150, 20);
+    model.editRecolor("A", 80, 120, 100, 50, 0);
+    SimpleAnimationModel expected = this.getEditableModel(150, 100);
+    expected.editRecolor("A", 80, 120, 100, 50, 0);
+
+    for (int frame : new int[]{0, 1, 10, 15, 50, 63}) {
+      assertEquals(expected.getShapesAtFrame(frame).toString(),
+          model.getShapesAtFrame(frame).toString());
+    }
+    assertEquals(misses, model.getFrameCacheStatistics().getMisses());
+
+    for (int frame = 0; frame <= 150; frame++) {
+      assertEquals(expected.getShapesAtFrame(frame).toString(),
+          model.getShapesAtFrame(frame).toString());
+    }
+  }
+
+  @Test
+  public void editMove_WithMissingMove_ThrowsIllegalArgumentException() {
+    SimpleAnimationModel model = this.getEditableModel(100, 255);
+
+    try {
+      model.editMove("A", 2, 41, 0, 0);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("Direction not found.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void removeDirection_AfterRendering_RendersTheChange() {
+    SimpleAnimationModel model = this.getEditableModel(100, 255);
+    assertEquals(255, model.getShapeAtFrame("A", 120).getRed());
+
+    model.removeDirection("A", "COLOR", 80, 120);
+
+    assertEquals(0, model.getShapeAtFrame("A", 120).getRed());
+    assertEquals(300, model.getShapeAtFrame("A", 120).getX());
+  }
+
+  @Test
+  public void moveShape_AfterLookingUpFrames_IsSeenByTheNextLookup() {
+    this.modelWithShapesAndDirections.stallShape("B", 3, 10);
+    assertEquals(1, this.modelWithShapesAndDirections.getShapeAtFrame("A", 10).getX());
+
+    this.modelWithShapesAndDirections.moveShape("A", 11, 11, 3, 10);
+
+    assertEquals(11, this.modelWithShapesAndDirections.getShapeAtFrame("A", 10).getX());
+  }
+
+  @Test
+  public void seekToFrame_BackAndForth_MatchesPlayingFromTheStart() {
+    SimpleAnimationModel model = this.getEditableModel(100, 255);
+    SimpleAnimationModel played = this.getEditableModel(100, 255);
+
+    model.seekToFrame(90);
+    model.seekToFrame(30);
+    for (int i = 0; i < 30; i++) {
+      played.advanceFrame();
+    }
+
+    assertEquals(30, model.getCurrentFrame());
+    assertEquals(played.getShapesAtCurrentFrame().toString(),
+        model.getShapesAtCurrentFrame().toString());
+  }
+
+  @Test
+  public void seekToFrame_NegativeFrame_ThrowsIllegalArgumentException() {
+    try {
+      this.emptyModel.seekToFrame(-1);
+      fail();
+    } catch (IllegalArgumentException e) {
+      assertEquals("Frame cannot be negative.", e.getMessage());
+    }
+  }
+
+  @Test
+  public void getShapesInRange_Backwards_GivesFramesLastToFirst() {
+    SimpleAnimationModel model = this.getEditableModel(100, 255);
+
+    List<List<IShape>> frames = model.getShapesInRange(42, 40);
+
+    assertEquals(3, frames.size());
+    assertEquals(model.getShapesAtFrame(42).toString(), frames.get(0).toString());
+    assertEquals(model.getShapesAtFrame(40).toString(), frames.get(2).toString());
+    assertEquals(1, model.getShapesInRange(7, 7).size());
+  }
+
+  @Test
+  public void advanceShapes_PastRemoval_DropsOnlyTheRemovedShape() {
+    this.modelWithShapesAndDirections.initShape("C", "rectangle");
+    this.modelWithShapesAndDirections.createShape("C", 1, 3, 3, 1, 1,
+        CoordinateType.CORNER, 0, 0, 0);
+    this.modelWithShapesAndDirections.stallShape("C", 2, 4);
+    this.modelWithShapesAndDirections.removeShape("A", 3);
+    this.modelWithShapesAndDirections.initializeAnimation();
+
+    for (int i = 0; i < 4; i++) {
+      this.modelWithShapesAndDirections.advanceShapes();
+    }
+
+    assertEquals(2, this.modelWithShapesAndDirections.getShapes().size());
+    assertEquals("C", this.modelWithShapesAndDirections.getShapes().get(1).getName());
+    assertEquals(2, this.modelWithShapesAndDirections.getDirections().size());
+    assertEquals("B C", this.modelWithShapesAndDirections.getShapesAtFrame(1).get(0).getName()
+        + " " + this.modelWithShapesAndDirections.getShapesAtFrame(1).get(1).getName());
+  }
+
+  @Test
+  public void seekToFrame_BackBeforeARemovalAfterPlaying_MatchesPlayingFromTheStart() {
+    this.modelWithShapesAndDirections.removeShape("A", 3);
+    SimpleAnimationModel played = (SimpleAnimationModel) this.modelWithShapesAndDirections
+        .getCopy();
+    this.modelWithShapesAndDirections.initializeAnimation();
+    played.initializeAnimation();
+
+    for (int i = 0; i < 5; i++) {
+      this.modelWithShapesAndDirections.advanceShapes();
+    }
+    assertEquals(1, this.modelWithShapesAndDirections.getShapes().size());
+
+    this.modelWithShapesAndDirections.seekToFrame(2);
+    played.advanceShapes();
+    played.advanceShapes();
+
+    assertEquals(played.getShapes().toString(),
+        this.modelWithShapesAndDirections.getShapes().toString());
+    assertEquals(played.getShapesAtCurrentFrame().toString(),
+        this.modelWithShapesAndDirections.getShapesAtCurrentFrame().toString());
+
+    for (int i = 0; i < 3; i++) {
+      played.advanceShapes();
+      this.modelWithShapesAndDirections.advanceShapes();
+      assertEquals(played.getShapes().toString(),
+          this.modelWithShapesAndDirections.getShapes().toString());
+    }
+    assertEquals(1, this.modelWithShapesAndDirections.getShapes().size());
+  }
+
+  @Test
+  public void seekToFrame_BackAfterPlaying_KeepsTheDirectionsItHad() {
+    this.modelWithShapesAndDirections.removeShape("A", 3);
+    this.modelWithShapesAndDirections.initializeAnimation();
+    for (int i = 0; i < 5; i++) {
+      this.modelWithShapesAndDirections.advanceShapes();
+    }
+    List<IDirection> before = this.modelWithShapesAndDirections.getDirectionsAtFrame("B", 2);
+
+    this.modelWithShapesAndDirections.seekToFrame(0);
+    List<IDirection> after = this.modelWithShapesAndDirections.getDirectionsAtFrame("B", 2);
+
+    // The shapes were put back in place rather than rebuilt, so their directions weren't copied.
+    assertEquals(2, before.size());
+    assertEquals(before.size(), after.size());
+    for (int i = 0; i < before.size(); i++) {
+      assertSame(before.get(i), after.get(i));
+    }
+  }
+
+  @Test
+  public void advanceShapes_WithShapesRemovedOnTheSameFrame_RemovesThemAll() {
+    this.modelWithShapesAndDirections.removeShape("A", 4);
+    this.modelWithShapesAndDirections.removeShape("B", 4);
+    this.modelWithShapesAndDirections.initializeAnimation();
+
+    for (int i = 0; i < 4; i++) {
+      this.modelWithShapesAndDirections.advanceShapes();
+      assertEquals(2, this.modelWithShapesAndDirections.getShapes().size());
+    }
+    this.modelWithShapesAndDirections.advanceShapes();
+
+    assertEquals(0, this.modelWithShapesAndDirections.getShapes().size());
+  }
+
+  @Test
+  public void getChangesAtFrame_WhileOthersStall_OnlyHasTheMovingShape() {
+    SimpleAnimationModel model = this.getEditableModel(100, 255);
+    model.setFrameCacheSize(8, 1);
+
+    List<ShapeChange> changes = model.getChangesAtFrame(16);
+
+    assertEquals(1, changes.size());
+    assertEquals("A", changes.get(0).getName());
+    assertEquals(model.getShapeStateAtFrame("A", 15), changes.get(0).getPreviousState());
+    assertEquals(model.getShapeStateAtFrame("A", 16), changes.get(0).getNewState());
+    assertEquals(0, model.getChangesAtFrame(125).size());
+    assertEquals(2, model.getChangesAtFrame(0).size());
+    assertEquals(null, model.getChangesAtFrame(151).get(0).getNewState());
+  }
+
+  @Test
+  public void snapshot_WhileReadingInTimeOrder_HasFinalFramesBeforeTheHorizon() {
+    SimpleAnimationModel.Builder builder = new SimpleAnimationModel.Builder();
+    builder.declareShape("A", "rectangle");
+    builder.declareShape("B", "ellipse");
+    builder.addMotion("A", 1, 0, 0, 10, 10, 0, 0, 0, 10, 90, 0, 10, 10, 0, 0, 0);
+    builder.addMotion("B", 1, 0, 0, 10, 10, 0, 0, 0, 20, 0, 0, 10, 10, 0, 0, 0);
+    builder.addMotion("A", 10, 90, 0, 10, 10, 0, 0, 0, 30, 90, 90, 10, 10, 0, 0, 0);
+
+    ISimpleAnimationModel snapshot = builder.snapshot();
+    snapshot.initializeAnimation();
+    assertEquals(10, snapshot.getSafeHorizon());
+
+    builder.addMotion("B", 20, 0, 0, 10, 10, 0, 0, 0, 40, 0, 0, 50, 50, 0, 0, 0);
+    ISimpleAnimationModel model = builder.build();
+    model.initializeAnimation();
+
+    assertEquals(Integer.MAX_VALUE, model.getSafeHorizon());
+    for (int frame = 0; frame < snapshot.getSafeHorizon(); frame++) {
+      assertEquals(model.getShapeStatesAtFrame(frame), snapshot.getShapeStatesAtFrame(frame));
+    }
+
+    SimpleAnimationModel.Builder unordered = new SimpleAnimationModel.Builder();
+    unordered.declareShape("A", "rectangle");
+    unordered.declareShape("B", "ellipse");
+    unordered.addMotion("A", 10, 0, 0, 10, 10, 0, 0, 0, 20, 0, 0, 10, 10, 0, 0, 0);
+    unordered.addMotion("B", 5, 0, 0, 10, 10, 0, 0, 0, 6, 0, 0, 10, 10, 0, 0, 0);
+    assertEquals(0, unordered.getSafeHorizon());
+  }
+}
@@ -0,0 +1,94 @@
+package model.direction;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import org.junit.Test;
+
+/**
+ * Tests for breaking a direction's change up into per-frame sub-commands with SubCommandTable.
+ */
+public class SubCommandTableTest {
+
+  @Test
+  public void generate_SpreadsEachChannelAcrossTheDirection() {
+    SubCommandTable table = new SubCommandTable(10, 16);
+    table.generate(10, -5);
+
+    assertFalse(table.isEmpty());
+    assertFalse(table.hasFrame(9));
+    assertTrue(table.hasFrame(10));
+    assertTrue(table.hasFrame(14));
+    assertFalse(table.hasFrame(15));
+
+    int sumX = 0;
+    int sumY = 0;
+    for (int frame = 10; frame < 15; frame++) {
+      sumX += table.getDelta(0, frame);
+      sumY += table.getDelta(1, frame);
+
+      assertEquals(sumX, table.getTotalThrough(0, frame));
+      assertEquals(sumY, table.getTotalThrough(1, frame));
+    }
+
+    assertEquals(10, sumX);
+    assertEquals(-5, sumY);
+    assertEquals(2, table.getDelta(0, 10));
+    assertEquals(10, table.getTotalThrough(0, 40));
+  }
+
+  @Test
+  public void generate_OnShortDirection_ChangesEverythingOnTheStartFrame() {
+    SubCommandTable table = new SubCommandTable(3, 4);
+    table.generate(7);
+
+    assertTrue(table.hasFrame(3));
+    assertFalse(table.hasFrame(4));
+    assertEquals(7, table.getDelta(0, 3));
+    assertEquals(7, table.getTotalThrough(0, 4));
+  }
+
+  @Test
+  public void isEmpty_BeforeGenerating_IsTrue() {
+    SubCommandTable table = new SubCommandTable(0, 5);
+
+    assertTrue(table.isEmpty());
+    assertFalse(table.hasFrame(0));
+  }
+
+  @Test
+  public void changeAllAtStart_MovesTheWholeChangeToTheStartFrame() {
+    SubCommandTable table = new SubCommandTable(0, 11);
+    table.generate(100, 100);
+    table.changeAllAtStart(1);
+
+    assertEquals(10, table.getDelta(0, 0));
+    assertEquals(100, table.getDelta(1, 0));
+    assertEquals(0, table.getDelta(1, 5));
+    assertEquals(100, table.getTotalThrough(1, 5));
+  }
+
+  @Test
+  public void getTotalThrough_OnLongDirection_RoundsEachFrameExactly() {
+    SubCommandTable table = new SubCommandTable(0, 10001);
+    table.generate(3333, 7777, -5);
+
+    for (int frame = 0; frame < 10000; frame++) {
+      BigDecimal ticksDone = BigDecimal.valueOf(frame + 1);
+      assertEquals(BigDecimal.valueOf(3333).multiply(ticksDone)
+              .divide(BigDecimal.valueOf(10000), 0, RoundingMode.HALF_UP).intValue(),
+          table.getTotalThrough(0, frame));
+      assertEquals(BigDecimal.valueOf(7777).multiply(ticksDone)
+              .divide(BigDecimal.valueOf(10000), 0, RoundingMode.HALF_UP).intValue(),
+          table.getTotalThrough(1, frame));
+    }
+
+    // Halfway rounds up, towards the end for a positive change and towards the start otherwise.
+    assertEquals(-2, table.getTotalThrough(2, 4999));
+    assertEquals(0, table.getTotalThrough(0, -1));
+    assertEquals(7777, table.getTotalThrough(1, 20000));
+  }
+}
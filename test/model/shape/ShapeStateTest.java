@@ -0,0 +1,64 @@
+package model.shape;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import model.SimpleAnimationModel;
+import org.junit.Test;
+
+/**
+ * Tests for taking immutable ShapeState snapshots of shapes.
+ */
+public class ShapeStateTest {
+
+  @Test
+  public void getState_WithoutChanges_ReturnsTheSameState() {
+    Rectangle rectangle = new Rectangle("R");
+    rectangle.create(1, 2, 3, 4, CoordinateType.CORNER, 5, 6, 7);
+
+    ShapeState state = rectangle.getState();
+
+    assertSame(state, rectangle.getState());
+    assertEquals("RECTANGLE", state.getShapeType());
+    assertEquals(rectangle.toString(), state.toString());
+    assertEquals(7, state.getBlue());
+    assertTrue(state.isVisible());
+  }
+
+  @Test
+  public void getState_AfterChange_KeepsTheOldStateAsItWas() {
+    Oval oval = new Oval("O");
+    oval.create(1, 2, 3, 4, CoordinateType.CENTER, 5, 6, 7);
+    ShapeState before = oval.getState();
+
+    oval.shift(10, 10);
+
+    assertNotSame(before, oval.getState());
+    assertEquals(1, before.getX());
+    assertEquals(11, oval.getState().getX());
+    assertFalse(before.equals(oval.getState()));
+  }
+
+  @Test
+  public void getShapeStateAtFrame_WhileStalled_SharesOneState() {
+    SimpleAnimationModel model = new SimpleAnimationModel();
+    model.initShape("R", "rectangle");
+    model.createShape("R", 1, 10, 10, 5, 5, CoordinateType.CORNER, 0, 0, 0);
+    model.stallShape("R", 2, 10);
+    model.moveShape("R", 20, 20, 10, 15);
+    model.initializeAnimation();
+
+    ShapeState stalled = model.getShapeStateAtFrame("R", 2);
+
+    assertSame(stalled, model.getShapeStateAtFrame("R", 9));
+    assertNotSame(stalled, model.getShapeStateAtFrame("R", 11));
+    assertFalse(model.getShapeStateAtFrame("R", 0).isVisible());
+    assertNull(model.getShapeStateAtFrame("R", 16));
+    assertEquals(model.getShapeAtFrame("R", 12).toString(),
+        model.getShapeStateAtFrame("R", 12).toString());
+  }
+}